@@ -0,0 +1,69 @@
+package com.kabadi.model.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kabadi.model.entity.KabadiWala;
+import com.kabadi.model.entity.User;
+import com.kabadi.model.entity.WasteTransaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of an {@link ApiResponse} page of transactions: full entities (parents inlined)
+ * versus the flat {@link TransactionResponse} rows the API returns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"50", "200"})
+    public int rows;
+
+    // Mirrors the Boot-configured mapper: java.time as ISO strings
+    private final ObjectMapper mapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private ApiResponse<List<WasteTransaction>> entities;
+    private ApiResponse<List<TransactionResponse>> dtos;
+
+    @Setup
+    public void setup() {
+        User user = User.builder().id(1L).name("Priya Sharma").mobile("9876543210")
+            .wasteRecyclerId("WR-2026-00001").addressLine1("12 Gandhi Nagar").pincode("110001").build();
+        KabadiWala kw = KabadiWala.builder().id(2L).name("Ramu Kabadiwala").mobile("9800000001")
+            .area("Connaught Place").latitude(28.63).longitude(77.21).build();
+        LocalDateTime now = LocalDateTime.of(2026, 1, 15, 10, 30);
+        List<WasteTransaction> txs = new ArrayList<>(rows);
+        List<TransactionResponse> rowsDto = new ArrayList<>(rows);
+        for (int k = 0; k < rows; k++) {
+            WasteTransaction tx = WasteTransaction.builder().id((long) k).user(user).kabadiWala(kw)
+                .materialType("PLASTIC").weightKg(new BigDecimal("2.50")).pricePerKg(new BigDecimal("12.00"))
+                .amountPaid(new BigDecimal("30.00")).transactionTime(now.minusMinutes(k)).build();
+            txs.add(tx);
+            rowsDto.add(new TransactionResponse(tx.getId(), user.getId(), user.getName(), kw.getId(), kw.getName(),
+                tx.getMaterialType(), tx.getWeightKg(), tx.getAmountPaid(), tx.getPricePerKg(), tx.getTransactionTime()));
+        }
+        entities = ApiResponse.ok(txs);
+        dtos = ApiResponse.ok(rowsDto);
+    }
+
+    @Benchmark
+    public byte[] entities() throws Exception {
+        return mapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] flatRows() throws Exception {
+        return mapper.writeValueAsBytes(dtos);
+    }
+}
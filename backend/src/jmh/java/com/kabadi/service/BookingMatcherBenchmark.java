@@ -0,0 +1,58 @@
+package com.kabadi.service;
+
+import com.kabadi.model.entity.KabadiWala;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** One dispatch pass: a city's open bookings matched against its vendors through the geo index. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BookingMatcherBenchmark {
+
+    private static final double LAT = 28.6139, LNG = 77.2090;
+
+    @Param({"2000", "10000"})
+    public int vendors;
+
+    @Param({"1000", "5000"})
+    public int bookings;
+
+    private BookingMatcher matcher;
+    private List<BookingMatcher.OpenBooking> open;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(42);
+        // No repository needed: upserts outside a transaction apply straight away
+        KabadiGeoIndex index = new KabadiGeoIndex(null);
+        LocalDateTime expires = LocalDateTime.now().plusDays(1);
+        for (long k = 1; k <= vendors; k++) {
+            boolean priority = rnd.nextInt(10) == 0;
+            index.upsert(KabadiWala.builder().id(k).name("KW " + k).isActive(true)
+                .latitude(LAT + (rnd.nextDouble() - 0.5) * 0.5)  // ~55 km box around Delhi
+                .longitude(LNG + (rnd.nextDouble() - 0.5) * 0.5)
+                .priorityActive(priority).priorityExpiresAt(priority ? expires : null)
+                .build());
+        }
+        open = new ArrayList<>(bookings);
+        for (long b = 1; b <= bookings; b++) {
+            open.add(new BookingMatcher.OpenBooking(b,
+                LAT + (rnd.nextDouble() - 0.5) * 0.4, LNG + (rnd.nextDouble() - 0.5) * 0.4));
+        }
+        matcher = new BookingMatcher(index, 5.0, 1.0, 5);
+    }
+
+    @Benchmark
+    public int matchPass() {
+        return matcher.match(open, new HashMap<>()).size();
+    }
+}
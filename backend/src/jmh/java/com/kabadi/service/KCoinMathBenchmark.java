@@ -0,0 +1,42 @@
+package com.kabadi.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Per-transaction K-coin delta as computed in {@link TransactionService}: two FLOOR divides. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KCoinMathBenchmark {
+
+    private static final BigDecimal THRESHOLD = BigDecimal.valueOf(20);
+    private static final BigDecimal PER_COIN = BigDecimal.valueOf(5);
+
+    private BigDecimal[] before;
+    private BigDecimal[] weight;
+    private int i;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(42);
+        before = new BigDecimal[1024];
+        weight = new BigDecimal[1024];
+        for (int k = 0; k < before.length; k++) {
+            before[k] = BigDecimal.valueOf(rnd.nextInt(6000), 2);   // 0.00 .. 60.00 kg already today
+            weight[k] = BigDecimal.valueOf(10 + rnd.nextInt(1500), 2); // 0.10 .. 15.09 kg weighed now
+        }
+    }
+
+    @Benchmark
+    public int coinsEarned() {
+        int k = i++ & 1023;
+        BigDecimal after = before[k].add(weight[k]);
+        return TransactionService.coinsFor(after, THRESHOLD, PER_COIN)
+             - TransactionService.coinsFor(before[k], THRESHOLD, PER_COIN);
+    }
+}
@@ -0,0 +1,54 @@
+package com.kabadi.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Distance evaluation over a city's worth of vendor points, with and without the bounding-box prefilter. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HaversineBenchmark {
+
+    private static final double LAT = 28.6139, LNG = 77.2090, RADIUS_KM = 5.0;
+
+    @Param({"1000", "100000"})
+    public int vendors;
+
+    private double[] lats;
+    private double[] lngs;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(42);
+        lats = new double[vendors];
+        lngs = new double[vendors];
+        for (int k = 0; k < vendors; k++) {
+            lats[k] = LAT + (rnd.nextDouble() - 0.5) * 0.5;  // ~55 km box around Delhi
+            lngs[k] = LNG + (rnd.nextDouble() - 0.5) * 0.5;
+        }
+    }
+
+    @Benchmark
+    public int haversineAll() {
+        int hits = 0;
+        for (int k = 0; k < vendors; k++) {
+            if (GeoUtils.haversineKm(LAT, LNG, lats[k], lngs[k]) <= RADIUS_KM) hits++;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int boundingBoxThenHaversine() {
+        double dLat = GeoUtils.latDelta(RADIUS_KM), dLng = GeoUtils.lngDelta(RADIUS_KM, LAT);
+        int hits = 0;
+        for (int k = 0; k < vendors; k++) {
+            if (Math.abs(lats[k] - LAT) > dLat || Math.abs(lngs[k] - LNG) > dLng) continue;
+            if (GeoUtils.haversineKm(LAT, LNG, lats[k], lngs[k]) <= RADIUS_KM) hits++;
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,50 @@
+package com.kabadi.util;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/** Token issue, full signature verification, and the cached lookup used by JwtAuthFilter. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtBenchmark {
+
+    private JwtUtil jwt;
+    private String token;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        jwt = new JwtUtil();
+        set("secret", "0123456789abcdef0123456789abcdef0123456789");
+        set("expirationMs", 86_400_000L);
+        set("cacheSize", 10_000);
+        jwt.init();
+        token = jwt.generateToken(42L, "CITIZEN", "Benchmark User", "en");
+    }
+
+    private void set(String field, Object value) throws ReflectiveOperationException {
+        Field f = JwtUtil.class.getDeclaredField(field);
+        f.setAccessible(true);
+        f.set(jwt, value);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwt.generateToken(42L, "CITIZEN", "Benchmark User", "en");
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwt.parseClaims(token);
+    }
+
+    @Benchmark
+    public JwtUtil.Principal authenticateCached() {
+        return jwt.authenticate(token);
+    }
+}
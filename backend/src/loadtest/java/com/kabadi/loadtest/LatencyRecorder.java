@@ -0,0 +1,83 @@
+package com.kabadi.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint latency samples for the measured window. Every sample is kept so percentiles
+ * are exact; a one-minute run at a few thousand requests per second is only a few MB.
+ */
+final class LatencyRecorder {
+
+    /** Status used for requests that never got a response (connect/read failures, timeouts). */
+    static final int NO_RESPONSE = -1;
+
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private long startedNanos;
+    private long stoppedNanos;
+
+    void start() {
+        startedNanos = System.nanoTime();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+        stoppedNanos = System.nanoTime();
+    }
+
+    double measuredSeconds() {
+        return (stoppedNanos - startedNanos) / 1e9;
+    }
+
+    /** 2xx responses count as successes; everything else, including {@link #NO_RESPONSE}, as errors. */
+    void record(String endpoint, int status, long elapsedNanos) {
+        if (!recording) return;
+        endpoints.computeIfAbsent(endpoint, k -> new Samples()).add(status, elapsedNanos);
+    }
+
+    Map<String, Stats> snapshot() {
+        Map<String, Stats> stats = new TreeMap<>();
+        endpoints.forEach((name, samples) -> stats.put(name, samples.stats()));
+        return stats;
+    }
+
+    record Stats(long count, long errors, Map<Integer, Long> statuses, double meanMs,
+                 double p50Ms, double p95Ms, double p99Ms, double maxMs) {}
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+
+        synchronized void add(int status, long elapsedNanos) {
+            statuses.merge(status, 1L, Long::sum);
+            if (status / 100 != 2) {
+                errors++;
+                return;
+            }
+            if (size == nanos.length) nanos = Arrays.copyOf(nanos, size * 2);
+            nanos[size++] = elapsedNanos;
+        }
+
+        synchronized Stats stats() {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            double mean = size == 0 ? 0 : Arrays.stream(sorted).average().orElse(0) / 1e6;
+            return new Stats(size, errors, new TreeMap<>(statuses), mean,
+                percentileMs(sorted, 0.50), percentileMs(sorted, 0.95), percentileMs(sorted, 0.99),
+                size == 0 ? 0 : sorted[size - 1] / 1e6);
+        }
+
+        /** Nearest-rank percentile. */
+        private static double percentileMs(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(rank - 1, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.kabadi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kabadi.KabadiApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test: boots the backend in-process on a random port against an embedded
+ * Postgres (or {@code --loadtest.db-url}), seeds a dataset, drives the scenario mix over HTTP
+ * and writes a JSON report. Exits non-zero when a gate in {@link LoadTestReport#check} fails.
+ *
+ * <pre>mvn -Ploadtest verify -Dloadtest.args="--loadtest.threads=64 --loadtest.duration=2m"</pre>
+ *
+ * Arguments other than {@code --loadtest.*} are passed to the application, e.g.
+ * {@code --app.geo.index.enabled=false}.
+ */
+@Slf4j
+public final class LoadTest {
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        StandardEnvironment env = new StandardEnvironment();
+        env.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        env.setConversionService(new ApplicationConversionService());
+        LoadTestConfig config = LoadTestConfig.from(env);
+
+        List<String> violations;
+        EmbeddedPostgres postgres = config.dbUrl() == null ? EmbeddedPostgres.builder().start() : null;
+        try {
+            String dbUrl = postgres != null ? postgres.getJdbcUrl("postgres", "postgres") : config.dbUrl();
+            appDefaults(dbUrl, config).forEach(System.getProperties()::putIfAbsent);
+            try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(KabadiApplication.class).run(args)) {
+                violations = run(config, ctx);
+            }
+        } finally {
+            if (postgres != null) postgres.close();
+        }
+
+        if (!violations.isEmpty()) {
+            violations.forEach(v -> log.error("Load-test gate failed: {}", v));
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Set as system properties so they beat application.properties but lose to anything passed
+     * on the command line. Request logging and SQL echo are off: at load they cost more than
+     * the requests being measured.
+     */
+    private static Map<String, String> appDefaults(String dbUrl, LoadTestConfig config) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        Map<String, String> props = new LinkedHashMap<>();
+        props.put("spring.datasource.url", dbUrl);
+        props.put("spring.datasource.username", config.dbUsername());
+        props.put("spring.datasource.password", config.dbPassword());
+        props.put("app.jwt.secret", HexFormat.of().formatHex(secret));
+        props.put("server.port", "0");
+        // Sessions log the same seeded mobiles in over and over
+        props.put("app.otp.max-sends", "1000000");
+        props.put("spring.jpa.show-sql", "false");
+        props.put("logging.level.com.kabadi", "INFO");
+        props.put("logging.level.org.springframework.web", "WARN");
+        return props;
+    }
+
+    private static List<String> run(LoadTestConfig config, ConfigurableApplicationContext ctx) throws Exception {
+        LoadTestSeeder seeder = new LoadTestSeeder(ctx);
+        if (config.seed()) seeder.seed(config);
+        LoadTestSeeder.Population population = seeder.load();
+        Map<String, Long> dataset = seeder.tableSizes();
+        log.info("Driving {} sessions against {} citizens and {} vendors ({})", config.threads(),
+            population.citizens().size(), population.vendors().size(), dataset);
+
+        ObjectMapper mapper = ctx.getBean(ObjectMapper.class);
+        int port = ctx.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        LatencyRecorder recorder = new LatencyRecorder();
+        LoadTestClient client = new LoadTestClient("http://localhost:" + port, mapper, recorder);
+
+        long stopAt = System.nanoTime() + config.warmup().toNanos() + config.duration().toNanos();
+        ExecutorService sessions = Executors.newFixedThreadPool(config.threads());
+        for (int i = 0; i < config.threads(); i++) {
+            sessions.execute(new VirtualUser(client, population, config, stopAt, config.randomSeed() + i));
+        }
+        sessions.shutdown();
+
+        Thread.sleep(config.warmup().toMillis());
+        recorder.start();
+        log.info("Warm-up done, measuring for {} s", config.duration().toSeconds());
+        Thread.sleep(config.duration().toMillis());
+        recorder.stop();
+        if (!sessions.awaitTermination(1, TimeUnit.MINUTES)) sessions.shutdownNow();
+
+        Map<String, Object> report = LoadTestReport.build(config, recorder, dataset);
+        LoadTestReport.write(config.report(), report, mapper);
+        log.info("Report written to {}{}", config.report().toAbsolutePath(), LoadTestReport.table(report));
+
+        JsonNode baseline = config.baseline() == null ? null : mapper.readTree(config.baseline().toFile());
+        return LoadTestReport.check(report, baseline, config.maxP95Regression(), config.maxErrorRate());
+    }
+}
@@ -0,0 +1,73 @@
+package com.kabadi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/** Blocking JSON client; each call is timed until the response body has arrived, before parsing. */
+final class LoadTestClient {
+
+    private final HttpClient http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final String baseUrl;
+    private final ObjectMapper mapper;
+    private final LatencyRecorder recorder;
+
+    LoadTestClient(String baseUrl, ObjectMapper mapper, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl;
+        this.mapper = mapper;
+        this.recorder = recorder;
+    }
+
+    /** The {@code data} of the ApiResponse, or null when the call failed (the failure is recorded). */
+    JsonNode get(String endpoint, String path, String token) {
+        return send(endpoint, request(path, token).GET());
+    }
+
+    JsonNode post(String endpoint, String path, String token, Object body) {
+        byte[] json;
+        try {
+            json = mapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unserialisable request body for " + endpoint, e);
+        }
+        return send(endpoint, request(path, token)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(json)));
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        return builder;
+    }
+
+    private JsonNode send(String endpoint, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            recorder.record(endpoint, LatencyRecorder.NO_RESPONSE, System.nanoTime() - start);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        recorder.record(endpoint, response.statusCode(), System.nanoTime() - start);
+        if (response.statusCode() / 100 != 2) return null;
+        try {
+            return mapper.readTree(response.body()).path("data");
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
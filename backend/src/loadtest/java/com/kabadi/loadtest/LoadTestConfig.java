@@ -0,0 +1,59 @@
+package com.kabadi.loadtest;
+
+import org.springframework.core.env.PropertyResolver;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/** Harness options, read from {@code --loadtest.*} command-line arguments. */
+record LoadTestConfig(
+    String dbUrl, String dbUsername, String dbPassword,
+    int threads, Duration warmup, Duration duration, Duration thinkTime,
+    Map<Scenario, Integer> mix,
+    boolean seed, int vendors, int citizens, int history, int bookings, long randomSeed,
+    Path report, Path baseline, double maxP95Regression, double maxErrorRate) {
+
+    enum Scenario { LOGIN, NEARBY, TRANSACTION, DASHBOARD, BOOKING }
+
+    static final String DEFAULT_MIX = "login=5,nearby=35,transaction=25,dashboard=25,booking=10";
+
+    static LoadTestConfig from(PropertyResolver env) {
+        String baseline = env.getProperty("loadtest.baseline");
+        return new LoadTestConfig(
+            env.getProperty("loadtest.db-url"),
+            env.getProperty("loadtest.db-username", "postgres"),
+            env.getProperty("loadtest.db-password", "postgres"),
+            env.getProperty("loadtest.threads", Integer.class, 32),
+            env.getProperty("loadtest.warmup", Duration.class, Duration.ofSeconds(15)),
+            env.getProperty("loadtest.duration", Duration.class, Duration.ofSeconds(60)),
+            env.getProperty("loadtest.think-time", Duration.class, Duration.ofMillis(200)),
+            parseMix(env.getProperty("loadtest.mix", DEFAULT_MIX)),
+            env.getProperty("loadtest.seed", Boolean.class, true),
+            env.getProperty("loadtest.vendors", Integer.class, 2_000),
+            env.getProperty("loadtest.citizens", Integer.class, 5_000),
+            env.getProperty("loadtest.history", Integer.class, 50_000),
+            env.getProperty("loadtest.bookings", Integer.class, 5_000),
+            env.getProperty("loadtest.random-seed", Long.class, 42L),
+            Path.of(env.getProperty("loadtest.report", "target/loadtest/report.json")),
+            baseline != null ? Path.of(baseline) : null,
+            env.getProperty("loadtest.max-p95-regression", Double.class, 0.25),
+            env.getProperty("loadtest.max-error-rate", Double.class, 0.01));
+    }
+
+    /** {@code name=weight} pairs; scenarios left out are not run. */
+    static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2)
+                throw new IllegalArgumentException("loadtest.mix entries must be name=weight, got: " + part);
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) weights.put(Scenario.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        if (weights.isEmpty()) throw new IllegalArgumentException("loadtest.mix has no positive weights");
+        return weights;
+    }
+}
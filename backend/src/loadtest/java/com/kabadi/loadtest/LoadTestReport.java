@@ -0,0 +1,118 @@
+package com.kabadi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The machine-readable result of a run: throughput and latency percentiles per endpoint.
+ * A previous report can be passed back in as a baseline to fail the run on regressions.
+ */
+final class LoadTestReport {
+
+    /** p95 differences below this are treated as noise, whatever the ratio. */
+    private static final double MIN_P95_DELTA_MS = 2.0;
+
+    private LoadTestReport() {}
+
+    static Map<String, Object> build(LoadTestConfig config, LatencyRecorder recorder, Map<String, Long> dataset) {
+        double seconds = recorder.measuredSeconds();
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long requests = 0, errors = 0;
+        for (Map.Entry<String, LatencyRecorder.Stats> e : recorder.snapshot().entrySet()) {
+            LatencyRecorder.Stats s = e.getValue();
+            long total = s.count() + s.errors();
+            requests += total;
+            errors += s.errors();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", total);
+            row.put("errors", s.errors());
+            row.put("errorRate", round(total == 0 ? 0 : (double) s.errors() / total));
+            row.put("throughputRps", round(s.count() / seconds));
+            row.put("meanMs", round(s.meanMs()));
+            row.put("p50Ms", round(s.p50Ms()));
+            row.put("p95Ms", round(s.p95Ms()));
+            row.put("p99Ms", round(s.p99Ms()));
+            row.put("maxMs", round(s.maxMs()));
+            row.put("statuses", s.statuses());
+            endpoints.put(e.getKey(), row);
+        }
+
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("requests", requests);
+        totals.put("errors", errors);
+        totals.put("throughputRps", round((requests - errors) / seconds));
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("threads", config.threads());
+        settings.put("warmupSeconds", config.warmup().toSeconds());
+        settings.put("durationSeconds", config.duration().toSeconds());
+        settings.put("thinkTimeMs", config.thinkTime().toMillis());
+        settings.put("mix", config.mix());
+        settings.put("database", config.dbUrl() == null ? "embedded" : "external");
+        settings.put("javaVersion", System.getProperty("java.version"));
+        settings.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", LocalDateTime.now().withNano(0).toString());
+        report.put("measuredSeconds", round(seconds));
+        report.put("config", settings);
+        report.put("dataset", dataset);
+        report.put("totals", totals);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    static void write(Path path, Map<String, Object> report, ObjectMapper mapper) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        mapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+
+    /**
+     * Violations of the gates: any endpoint above {@code maxErrorRate}, and, when a baseline is
+     * given, any endpoint whose p95 grew by more than {@code maxP95Regression} (a fraction).
+     */
+    static List<String> check(Map<String, Object> report, JsonNode baseline,
+                              double maxP95Regression, double maxErrorRate) {
+        List<String> violations = new ArrayList<>();
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> endpoints = (Map<String, Map<String, Object>>) report.get("endpoints");
+        endpoints.forEach((name, row) -> {
+            double errorRate = (double) row.get("errorRate");
+            if (errorRate > maxErrorRate)
+                violations.add(String.format("%s: error rate %.2f%% above %.2f%%", name,
+                    errorRate * 100, maxErrorRate * 100));
+            JsonNode base = baseline == null ? null : baseline.path("endpoints").get(name);
+            if (base == null) return;
+            double p95 = (double) row.get("p95Ms");
+            double baseP95 = base.path("p95Ms").asDouble();
+            if (p95 > baseP95 * (1 + maxP95Regression) && p95 - baseP95 > MIN_P95_DELTA_MS)
+                violations.add(String.format("%s: p95 %.1f ms vs baseline %.1f ms (+%.0f%%)", name,
+                    p95, baseP95, (p95 / baseP95 - 1) * 100));
+        });
+        return violations;
+    }
+
+    static String table(Map<String, Object> report) {
+        StringBuilder sb = new StringBuilder(String.format("%n%-30s %9s %7s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms"));
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> endpoints = (Map<String, Map<String, Object>>) report.get("endpoints");
+        endpoints.forEach((name, r) -> sb.append(String.format("%-30s %9d %7d %9.1f %9.1f %9.1f %9.1f%n", name,
+            r.get("requests"), r.get("errors"), r.get("throughputRps"), r.get("p50Ms"), r.get("p95Ms"), r.get("p99Ms"))));
+        return sb.toString();
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.kabadi.loadtest;
+
+import com.kabadi.service.KabadiGeoIndex;
+import com.kabadi.util.SyntheticDataGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Fills the database with the synthetic generator and loads who the sessions can log in as. */
+@Slf4j
+final class LoadTestSeeder {
+
+    record Citizen(long id, String mobile) {}
+
+    record Vendor(long id, String mobile, double latitude, double longitude) {}
+
+    record Population(List<Citizen> citizens, List<Vendor> vendors) {}
+
+    private final SyntheticDataGenerator generator;
+    private final KabadiGeoIndex geoIndex;
+    private final JdbcTemplate jdbc;
+
+    LoadTestSeeder(ApplicationContext ctx) {
+        this.generator = ctx.getBean(SyntheticDataGenerator.class);
+        this.geoIndex = ctx.getBean(KabadiGeoIndex.class);
+        this.jdbc = ctx.getBean(JdbcTemplate.class);
+    }
+
+    /** Generates once per database; a rerun against one that already has the citizens reuses it. */
+    void seed(LoadTestConfig config) {
+        long users = jdbc.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (users >= config.citizens()) {
+            log.info("Database already has {} users, not seeding", users);
+            return;
+        }
+        generator.generate(new SyntheticDataGenerator.Spec(config.citizens(), config.vendors(), config.history(),
+            config.bookings(), 90, config.randomSeed()));
+        // The app is already up, so its index was built before these vendors existed
+        geoIndex.rebuild();
+    }
+
+    /** Everyone who can log in: generated rows plus whatever the database already held. */
+    Population load() {
+        List<Citizen> citizens = jdbc.query(
+            "SELECT id, mobile FROM users WHERE waste_recycler_id IS NOT NULL ORDER BY id",
+            (rs, n) -> new Citizen(rs.getLong("id"), rs.getString("mobile")));
+        List<Vendor> vendors = jdbc.query("""
+            SELECT id, mobile, latitude, longitude FROM kabadi_walas
+            WHERE is_active = true AND name IS NOT NULL AND latitude IS NOT NULL AND longitude IS NOT NULL
+            ORDER BY id
+            """, (rs, n) -> new Vendor(rs.getLong("id"), rs.getString("mobile"),
+                rs.getDouble("latitude"), rs.getDouble("longitude")));
+        if (citizens.isEmpty() || vendors.isEmpty())
+            throw new IllegalStateException("No citizens or vendors to drive load with; run with --loadtest.seed=true");
+        return new Population(citizens, vendors);
+    }
+
+    Map<String, Long> tableSizes() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        for (String table : List.of("users", "kabadi_walas", "waste_transactions", "bookings")) {
+            sizes.put(table, jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class));
+        }
+        return sizes;
+    }
+}
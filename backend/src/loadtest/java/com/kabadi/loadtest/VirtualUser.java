@@ -0,0 +1,168 @@
+package com.kabadi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kabadi.loadtest.LoadTestConfig.Scenario;
+import com.kabadi.loadtest.LoadTestSeeder.Citizen;
+import com.kabadi.loadtest.LoadTestSeeder.Population;
+import com.kabadi.loadtest.LoadTestSeeder.Vendor;
+import com.kabadi.util.GeoUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * One simulated app session, holding a logged-in citizen and a logged-in kabadi-wala.
+ * Each iteration runs one scenario picked by weight, then pauses for the think time.
+ */
+final class VirtualUser implements Runnable {
+
+    private static final String[] MATERIALS = {"PLASTIC", "PAPER", "METAL", "GLASS", "E_WASTE"};
+    private static final int[] PRICES = {12, 8, 40, 4, 60};
+
+    private final LoadTestClient client;
+    private final Population population;
+    private final LoadTestConfig config;
+    private final long stopAtNanos;
+    private final Random random;
+    private final Scenario[] wheel;
+
+    private Citizen citizen;
+    private String citizenToken;
+    private Vendor vendor;
+    private String vendorToken;
+
+    VirtualUser(LoadTestClient client, Population population, LoadTestConfig config, long stopAtNanos, long seed) {
+        this.client = client;
+        this.population = population;
+        this.config = config;
+        this.stopAtNanos = stopAtNanos;
+        this.random = new Random(seed);
+        List<Scenario> slots = new ArrayList<>();
+        config.mix().forEach((scenario, weight) -> slots.addAll(Collections.nCopies(weight, scenario)));
+        this.wheel = slots.toArray(Scenario[]::new);
+    }
+
+    @Override
+    public void run() {
+        loginCitizen();
+        loginVendor();
+        while (System.nanoTime() < stopAtNanos && !Thread.currentThread().isInterrupted()) {
+            switch (wheel[random.nextInt(wheel.length)]) {
+                case LOGIN -> {
+                    if (random.nextBoolean()) loginCitizen();
+                    else loginVendor();
+                }
+                case NEARBY -> nearby();
+                case TRANSACTION -> logTransaction();
+                case DASHBOARD -> dashboard();
+                case BOOKING -> createBooking();
+            }
+            think();
+        }
+    }
+
+    private void loginCitizen() {
+        Citizen c = randomCitizen();
+        String token = login(c.mobile(), "CITIZEN");
+        if (token != null) {
+            citizen = c;
+            citizenToken = token;
+        }
+    }
+
+    private void loginVendor() {
+        Vendor v = randomVendor();
+        String token = login(v.mobile(), "KABADI");
+        if (token != null) {
+            vendor = v;
+            vendorToken = token;
+        }
+    }
+
+    /** The two-step OTP flow the app uses; the code comes back as {@code mockOtp} until SMS is wired. */
+    private String login(String mobile, String userType) {
+        JsonNode sent = client.post("POST /api/auth/send-otp", "/api/auth/send-otp", null,
+            Map.of("mobile", mobile, "userType", userType));
+        if (sent == null) return null;
+        JsonNode verified = client.post("POST /api/auth/verify-otp", "/api/auth/verify-otp", null,
+            Map.of("mobile", mobile, "userType", userType, "otp", sent.path("mockOtp").asText()));
+        String token = verified == null ? "" : verified.path("token").asText();
+        return token.isEmpty() ? null : token;
+    }
+
+    /** Same order as the citizen home screen: priority vendors first, then everyone within 2 km. */
+    private void nearby() {
+        if (citizenToken == null) return;
+        double[] here = nearSomeVendor();
+        String query = "?lat=" + here[0] + "&lng=" + here[1];
+        client.get("GET /api/kabadi/priority", "/api/kabadi/priority" + query, citizenToken);
+        client.get("GET /api/kabadi/nearby", "/api/kabadi/nearby" + query + "&radius=2", citizenToken);
+    }
+
+    private void logTransaction() {
+        if (vendorToken == null) return;
+        int m = random.nextInt(MATERIALS.length);
+        Map<String, Object> body = new HashMap<>();
+        body.put("kabadiWalaId", vendor.id());
+        // Walk-ins have no citizen account
+        if (random.nextInt(5) != 0) body.put("userId", randomCitizen().id());
+        body.put("materialType", MATERIALS[m]);
+        body.put("weightKg", BigDecimal.valueOf(0.5 + random.nextDouble() * 19.5).setScale(1, RoundingMode.HALF_UP));
+        body.put("pricePerKg", PRICES[m]);
+        body.put("idempotencyKey", UUID.randomUUID().toString());
+        client.post("POST /api/transactions", "/api/transactions", vendorToken, body);
+    }
+
+    private void dashboard() {
+        if (random.nextBoolean()) {
+            if (citizenToken != null)
+                client.get("GET /api/citizen/dashboard", "/api/citizen/dashboard", citizenToken);
+        } else if (vendorToken != null) {
+            client.get("GET /api/kabadi/dashboard", "/api/kabadi/dashboard", vendorToken);
+        }
+    }
+
+    private void createBooking() {
+        if (citizenToken == null) return;
+        double[] here = nearSomeVendor();
+        Map<String, Object> body = new HashMap<>();
+        body.put("userId", citizen.id());
+        // Most bookings are left for any nearby vendor to pick up
+        if (random.nextInt(3) == 0) body.put("kabadiWalaId", randomVendor().id());
+        body.put("latitude", here[0]);
+        body.put("longitude", here[1]);
+        body.put("scheduledAt", LocalDateTime.now().plusHours(2 + random.nextInt(72)).withNano(0).toString());
+        body.put("materialType", MATERIALS[random.nextInt(MATERIALS.length)]);
+        body.put("expectedWeightKg", 1 + random.nextInt(30));
+        client.post("POST /api/bookings", "/api/bookings", citizenToken, body);
+    }
+
+    /** A point within ~1 km of a random vendor, so searches land where vendors actually are. */
+    private double[] nearSomeVendor() {
+        Vendor v = randomVendor();
+        return new double[] {
+            v.latitude() + (random.nextDouble() - 0.5) * 2 * GeoUtils.latDelta(1),
+            v.longitude() + (random.nextDouble() - 0.5) * 2 * GeoUtils.lngDelta(1, v.latitude())};
+    }
+
+    private Citizen randomCitizen() {
+        return population.citizens().get(random.nextInt(population.citizens().size()));
+    }
+
+    private Vendor randomVendor() {
+        return population.vendors().get(random.nextInt(population.vendors().size()));
+    }
+
+    /** Uniform between half and one and a half times the configured think time. */
+    private void think() {
+        long mean = config.thinkTime().toMillis();
+        if (mean <= 0) return;
+        try {
+            Thread.sleep(mean / 2 + (long) (random.nextDouble() * mean));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.kabadi.config;
+
+import com.kabadi.repository.KCoinRedemptionRepository;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Business metrics. Hot paths are timed with {@code @Timed("kabadi.*")}; the histogram
+ * buckets for those timers are switched on in application.properties. Hikari pool, JVM and
+ * HTTP server metrics come from Spring Boot's auto-configuration.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // One active redemption per priority vendor (uq_redemptions_one_active), so this is an index-only count
+    @Bean
+    public MeterBinder priorityVendorsGauge(KCoinRedemptionRepository redemptionRepo) {
+        return registry -> Gauge.builder("kabadi.vendors.priority.active", redemptionRepo::countByIsActiveTrue)
+            .description("Kabadi-walas with an active priority redemption")
+            .register(registry);
+    }
+}
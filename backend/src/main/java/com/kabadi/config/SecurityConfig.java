@@ -12,6 +12,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -29,6 +30,13 @@ public class SecurityConfig {
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins;
 
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    // Empty unless actuator is moved off the public port (MANAGEMENT_PORT)
+    @Value("${management.server.port:}")
+    private String managementPort;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -39,6 +47,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/admin/login").permitAll()
                 .requestMatchers("/api/health").permitAll()
+                .requestMatchers("/actuator/health/**").permitAll()
+                .requestMatchers(prometheusOnManagementPort()).permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .anyRequest().authenticated()
             )
@@ -46,6 +57,17 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Unauthenticated scrapes only on a separate management port, which is not exposed publicly.
+     * Without one, /actuator/prometheus shares the API port and needs an admin token.
+     */
+    private RequestMatcher prometheusOnManagementPort() {
+        int port = managementPort.isBlank() ? -1 : Integer.parseInt(managementPort.trim());
+        boolean separate = port > 0 && port != serverPort;
+        return request -> separate && request.getLocalPort() == port
+            && "/actuator/prometheus".equals(request.getRequestURI());
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder(12);
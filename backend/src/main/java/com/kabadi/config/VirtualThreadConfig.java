@@ -0,0 +1,52 @@
+package com.kabadi.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Extras for {@code spring.threads.virtual.enabled=true} (JDK 21+). Boot itself moves Tomcat,
+ * {@code @Scheduled} and {@code @Async} onto virtual threads; with no thread pool bounding the
+ * number of requests in flight any more, the DataSource is fronted by a
+ * {@link DbConcurrencyLimiter} sized to the Hikari pool.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor dbConcurrencyLimiterPostProcessor(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource ds) || bean instanceof DbConcurrencyLimiter) return bean;
+                int maxConcurrency = env.getProperty("app.db.max-concurrency", Integer.class, 10);
+                long acquireTimeoutMs = env.getProperty("app.db.acquire-timeout-ms", Long.class, 10_000L);
+                log.info("Virtual threads on: limiting '{}' to {} concurrent connections", beanName, maxConcurrency);
+                return new DbConcurrencyLimiter(ds, maxConcurrency, acquireTimeoutMs);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dbConcurrencyGauges(DataSource dataSource) {
+        return registry -> {
+            if (!(dataSource instanceof DbConcurrencyLimiter limiter)) return;
+            Gauge.builder("kabadi.db.permits.in-use", limiter, DbConcurrencyLimiter::inUse)
+                .description("Connections checked out through the concurrency limiter")
+                .register(registry);
+            Gauge.builder("kabadi.db.permits.waiting", limiter, DbConcurrencyLimiter::waiting)
+                .description("Threads queued for a database permit")
+                .register(registry);
+        };
+    }
+}
@@ -1,11 +1,18 @@
 package com.kabadi.controller;
 
+import com.kabadi.model.dto.AdminListFilter;
 import com.kabadi.model.response.ApiResponse;
+import com.kabadi.service.AdminExportService;
 import com.kabadi.service.AdminService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.Map;
 
 @RestController
@@ -14,6 +21,7 @@ import java.util.Map;
 public class AdminController {
 
     private final AdminService adminService;
+    private final AdminExportService exportService;
 
     @GetMapping("/overview")
     public ResponseEntity<ApiResponse<?>> getOverview() {
@@ -21,18 +29,84 @@ public class AdminController {
     }
 
     @GetMapping("/users")
-    public ResponseEntity<ApiResponse<?>> getUsers() {
-        return ResponseEntity.ok(ApiResponse.ok(adminService.getAllUsers()));
+    public ResponseEntity<ApiResponse<?>> getUsers(@ModelAttribute AdminListFilter filter,
+                                                   @RequestParam(required = false) Integer page,
+                                                   @RequestParam(required = false) Integer size,
+                                                   @RequestParam(required = false) String sort,
+                                                   @RequestParam(required = false) String dir) {
+        return ResponseEntity.ok(ApiResponse.ok(adminService.getUsers(filter, page, size, sort, dir)));
     }
 
     @GetMapping("/kabadis")
-    public ResponseEntity<ApiResponse<?>> getKabadis() {
-        return ResponseEntity.ok(ApiResponse.ok(adminService.getAllKabadis()));
+    public ResponseEntity<ApiResponse<?>> getKabadis(@ModelAttribute AdminListFilter filter,
+                                                     @RequestParam(required = false) Integer page,
+                                                     @RequestParam(required = false) Integer size,
+                                                     @RequestParam(required = false) String sort,
+                                                     @RequestParam(required = false) String dir) {
+        return ResponseEntity.ok(ApiResponse.ok(adminService.getKabadis(filter, page, size, sort, dir)));
     }
 
     @GetMapping("/transactions")
-    public ResponseEntity<ApiResponse<?>> getTransactions() {
-        return ResponseEntity.ok(ApiResponse.ok(adminService.getAllTransactions()));
+    public ResponseEntity<ApiResponse<?>> getTransactions(@ModelAttribute AdminListFilter filter,
+                                                          @RequestParam(required = false) Integer page,
+                                                          @RequestParam(required = false) Integer size,
+                                                          @RequestParam(required = false) String sort,
+                                                          @RequestParam(required = false) String dir) {
+        return ResponseEntity.ok(ApiResponse.ok(adminService.getTransactions(filter, page, size, sort, dir)));
+    }
+
+    /** Streams the whole (filtered) table; {@code dataset} is users, kabadis or transactions. */
+    @GetMapping("/export/{dataset}")
+    public void export(@PathVariable String dataset,
+                       @RequestParam(defaultValue = "ndjson") String format,
+                       @ModelAttribute AdminListFilter filter,
+                       HttpServletResponse response) throws IOException {
+        AdminExportService.Dataset ds = AdminExportService.Dataset.parse(dataset);
+        AdminExportService.Format fmt = AdminExportService.Format.parse(format);
+        response.setContentType(fmt.contentType + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"" + ds.name().toLowerCase() + "." + fmt.extension + "\"");
+        exportService.export(ds, fmt, filter, response.getOutputStream());
+    }
+
+    @PostMapping("/maintenance/kabadi-totals")
+    public ResponseEntity<ApiResponse<?>> recomputeKabadiTotals() {
+        return ResponseEntity.ok(ApiResponse.ok("Kabadi totals recomputed", adminService.recomputeKabadiTotals()));
+    }
+
+    @PostMapping("/maintenance/citizen-stats")
+    public ResponseEntity<ApiResponse<?>> rebuildCitizenStats() {
+        return ResponseEntity.ok(ApiResponse.ok("Citizen stats rebuilt", adminService.rebuildCitizenStats()));
+    }
+
+    @PostMapping("/maintenance/rollups")
+    public ResponseEntity<ApiResponse<?>> rebuildRollups() {
+        return ResponseEntity.ok(ApiResponse.ok("Transaction rollups rebuilt", adminService.rebuildRollups()));
+    }
+
+    @PostMapping("/maintenance/daily-reset")
+    public ResponseEntity<ApiResponse<?>> resetDailyThresholds() {
+        return ResponseEntity.ok(ApiResponse.ok("Daily thresholds reset", adminService.resetDailyThresholds()));
+    }
+
+    @GetMapping("/kcoins/{kabadiWalaId}/ledger")
+    public ResponseEntity<ApiResponse<?>> getKCoinLedger(@PathVariable Long kabadiWalaId,
+                                                         @RequestParam(required = false) String before,
+                                                         @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.ok(adminService.getKCoinLedger(kabadiWalaId, before, size)));
+    }
+
+    @PostMapping("/maintenance/kcoin-fold")
+    public ResponseEntity<ApiResponse<?>> foldKCoinLedger() {
+        return ResponseEntity.ok(ApiResponse.ok("K-coin ledger folded", adminService.foldKCoinLedger()));
+    }
+
+    @PostMapping("/maintenance/kcoin-replay")
+    public ResponseEntity<ApiResponse<?>> replayKCoins(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "false") boolean apply) {
+        return ResponseEntity.ok(ApiResponse.ok(apply ? "K-coin replay applied" : "K-coin replay preview",
+            adminService.replayKCoins(from, apply)));
     }
 
     @GetMapping("/config")
@@ -2,6 +2,7 @@ package com.kabadi.controller;
 
 import com.kabadi.model.response.ApiResponse;
 import com.kabadi.service.CitizenService;
+import com.kabadi.service.RollupService;
 import com.kabadi.service.TransactionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,7 @@ public class CitizenController {
 
     private final CitizenService citizenService;
     private final TransactionService txService;
+    private final RollupService rollupService;
 
     @GetMapping("/profile")
     public ResponseEntity<ApiResponse<?>> getProfile(Authentication auth) {
@@ -39,9 +41,20 @@ public class CitizenController {
 
     @GetMapping("/transactions")
     public ResponseEntity<ApiResponse<?>> getTransactions(Authentication auth,
-            @RequestParam(required = false) String filter) {
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer size) {
+        Long userId = (Long) auth.getPrincipal();
+        return ResponseEntity.ok(ApiResponse.ok(txService.getUserTransactions(userId, filter, before, size)));
+    }
+
+    @GetMapping("/transactions/series")
+    public ResponseEntity<ApiResponse<?>> getTransactionSeries(Authentication auth,
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) String granularity) {
         Long userId = (Long) auth.getPrincipal();
-        return ResponseEntity.ok(ApiResponse.ok(txService.getUserTransactions(userId, filter)));
+        return ResponseEntity.ok(ApiResponse.ok(
+            rollupService.getSeries(RollupService.OWNER_USER, userId, filter, granularity)));
     }
 
     @PutMapping("/language")
@@ -2,7 +2,9 @@ package com.kabadi.controller;
 
 import com.kabadi.model.dto.RedeemRequest;
 import com.kabadi.model.response.ApiResponse;
+import com.kabadi.service.KCoinLedgerService;
 import com.kabadi.service.KabadiService;
+import com.kabadi.service.RollupService;
 import com.kabadi.service.TransactionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +20,8 @@ public class KabadiController {
 
     private final KabadiService kabadiService;
     private final TransactionService txService;
+    private final RollupService rollupService;
+    private final KCoinLedgerService ledgerService;
 
     @GetMapping("/profile")
     public ResponseEntity<ApiResponse<?>> getProfile(Authentication auth) {
@@ -40,9 +44,20 @@ public class KabadiController {
 
     @GetMapping("/transactions")
     public ResponseEntity<ApiResponse<?>> getTransactions(Authentication auth,
-            @RequestParam(required = false) String filter) {
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer size) {
+        Long id = (Long) auth.getPrincipal();
+        return ResponseEntity.ok(ApiResponse.ok(txService.getKabadiTransactions(id, filter, before, size)));
+    }
+
+    @GetMapping("/transactions/series")
+    public ResponseEntity<ApiResponse<?>> getTransactionSeries(Authentication auth,
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) String granularity) {
         Long id = (Long) auth.getPrincipal();
-        return ResponseEntity.ok(ApiResponse.ok(txService.getKabadiTransactions(id, filter)));
+        return ResponseEntity.ok(ApiResponse.ok(
+            rollupService.getSeries(RollupService.OWNER_KABADI, id, filter, granularity)));
     }
 
     @GetMapping("/kcoins")
@@ -51,6 +66,14 @@ public class KabadiController {
         return ResponseEntity.ok(ApiResponse.ok(kabadiService.getKCoins(id)));
     }
 
+    @GetMapping("/kcoins/ledger")
+    public ResponseEntity<ApiResponse<?>> getKCoinLedger(Authentication auth,
+                                                         @RequestParam(required = false) String before,
+                                                         @RequestParam(required = false) Integer size) {
+        Long id = (Long) auth.getPrincipal();
+        return ResponseEntity.ok(ApiResponse.ok(ledgerService.history(id, before, size)));
+    }
+
     @PostMapping("/kcoins/redeem")
     public ResponseEntity<ApiResponse<?>> redeemKCoins(Authentication auth, @RequestBody RedeemRequest req) {
         Long id = (Long) auth.getPrincipal();
@@ -64,7 +87,11 @@ public class KabadiController {
 
     @GetMapping("/nearby")
     public ResponseEntity<ApiResponse<?>> getNearby(@RequestParam double lat, @RequestParam double lng,
-            @RequestParam(defaultValue = "2.0") double radius) {
+            @RequestParam(defaultValue = "2.0") double radius,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        if (limit != null)
+            return ResponseEntity.ok(ApiResponse.ok(kabadiService.findNearest(lat, lng, radius, limit, cursor)));
         return ResponseEntity.ok(ApiResponse.ok(kabadiService.findNearby(lat, lng, radius)));
     }
 
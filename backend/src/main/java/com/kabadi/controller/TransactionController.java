@@ -1,5 +1,6 @@
 package com.kabadi.controller;
 
+import com.kabadi.model.dto.TransactionBatchRequest;
 import com.kabadi.model.dto.TransactionRequest;
 import com.kabadi.model.response.ApiResponse;
 import com.kabadi.service.TransactionService;
@@ -20,17 +21,27 @@ public class TransactionController {
         return ResponseEntity.ok(ApiResponse.ok("Transaction logged", txService.logTransaction(req)));
     }
 
+    /** Offline sync from scale devices; re-sending a batch is safe. */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<?>> logBatch(@Valid @RequestBody TransactionBatchRequest req) {
+        return ResponseEntity.ok(ApiResponse.ok("Batch synced", txService.logBatch(req.getTransactions())));
+    }
+
     @GetMapping("/kabadi")
     public ResponseEntity<ApiResponse<?>> getKabadiTransactions(
             @RequestParam Long kabadiId,
-            @RequestParam(required = false) String filter) {
-        return ResponseEntity.ok(ApiResponse.ok(txService.getKabadiTransactions(kabadiId, filter)));
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.ok(txService.getKabadiTransactions(kabadiId, filter, before, size)));
     }
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<ApiResponse<?>> getUserTransactions(
             @PathVariable Long userId,
-            @RequestParam(required = false) String filter) {
-        return ResponseEntity.ok(ApiResponse.ok(txService.getUserTransactions(userId, filter)));
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.ok(txService.getUserTransactions(userId, filter, before, size)));
     }
 }
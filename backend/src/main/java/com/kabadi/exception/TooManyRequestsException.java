@@ -0,0 +1,4 @@
+package com.kabadi.exception;
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String msg) { super(msg); }
+}
@@ -0,0 +1,63 @@
+package com.kabadi.model.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/** Optional filters shared by the admin listings and exports; unset fields match everything. */
+@Data
+public class AdminListFilter {
+    private String q;          // name contains (case-insensitive)
+    private String mobile;     // prefix
+    private String area;       // contains (case-insensitive), kabadi-walas only
+    private String pincode;    // exact
+    private Boolean active;    // kabadi-walas only
+    private Long userId;       // transactions only
+    private Long kabadiWalaId; // transactions only
+    private String materialType;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;    // inclusive
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;      // inclusive
+
+    public LocalDateTime fromTime() {
+        return from != null ? from.atStartOfDay() : null;
+    }
+
+    /** Exclusive upper bound: start of the day after {@code to}. */
+    public LocalDateTime toTime() {
+        return to != null ? to.plusDays(1).atStartOfDay() : null;
+    }
+
+    /** Lower-cased LIKE pattern for the name search, or null. */
+    public String namePattern() {
+        String v = blankToNull(q);
+        return v == null ? null : "%" + v.toLowerCase(Locale.ROOT) + "%";
+    }
+
+    public String mobilePattern() {
+        String v = blankToNull(mobile);
+        return v == null ? null : v + "%";
+    }
+
+    public String areaPattern() {
+        String v = blankToNull(area);
+        return v == null ? null : "%" + v.toLowerCase(Locale.ROOT) + "%";
+    }
+
+    public String pincodeOrNull() {
+        return blankToNull(pincode);
+    }
+
+    public String materialTypeOrNull() {
+        return blankToNull(materialType);
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s.trim();
+    }
+}
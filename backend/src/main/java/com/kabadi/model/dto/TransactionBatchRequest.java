@@ -0,0 +1,12 @@
+package com.kabadi.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class TransactionBatchRequest {
+    @NotEmpty @Size(max = 500) @Valid private List<TransactionRequest> transactions;
+}
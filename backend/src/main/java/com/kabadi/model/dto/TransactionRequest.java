@@ -3,6 +3,7 @@ package com.kabadi.model.dto;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data
 public class TransactionRequest {
@@ -11,4 +12,8 @@ public class TransactionRequest {
     @NotBlank private String materialType;
     @NotNull @DecimalMin("0.1") private BigDecimal weightKg;
     @NotNull @DecimalMin("0.1") private BigDecimal pricePerKg;
+    /** Optional for single logs, required in batches; repeats for the same kabadi-wala are ignored. */
+    @Size(max = 64) private String idempotencyKey;
+    /** When the weighing happened on the device; defaults to the time the server receives it. */
+    private LocalDateTime recordedAt;
 }
@@ -0,0 +1,40 @@
+package com.kabadi.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "citizen_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CitizenStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String periodType;  // LIFETIME | YEAR | MONTH | DAY
+
+    @Column(nullable = false)
+    private LocalDate periodStart;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalEarnings = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalWeightKg = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long transactionCount = 0L;
+}
@@ -0,0 +1,45 @@
+package com.kabadi.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** One immutable K-coin movement; only {@code foldedAt} is set later, when the row is rolled into the snapshot. */
+@Entity
+@Table(name = "kcoin_ledger")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KCoinLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "kcoin_ledger_seq")
+    @SequenceGenerator(name = "kcoin_ledger_seq", sequenceName = "kcoin_ledger_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long kabadiWalaId;
+
+    @Column(nullable = false)
+    private String entryType;  // EARN | SPEND | ADJUST
+
+    @Column(nullable = false)
+    private Integer amount;    // signed: spends are negative
+
+    private Long transactionId;
+    private Long redemptionId;
+
+    @Column(nullable = false)
+    private LocalDate businessDate;
+
+    private String reason;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime foldedAt;
+}
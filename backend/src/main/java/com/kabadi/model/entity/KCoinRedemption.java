@@ -15,12 +15,15 @@ import java.time.LocalDateTime;
 public class KCoinRedemption {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "redemption_seq")
+    @SequenceGenerator(name = "redemption_seq", sequenceName = "k_coin_redemptions_id_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "kabadi_wala_id", nullable = false)
-    @JsonIgnoreProperties({"otpCode", "otpExpiresAt", "hibernateLazyInitializer", "handler"})
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private KabadiWala kabadiWala;
 
     private Integer coinsRedeemed;
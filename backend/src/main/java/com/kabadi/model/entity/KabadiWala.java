@@ -2,12 +2,14 @@ package com.kabadi.model.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "kabadi_walas")
+@DynamicUpdate // entity saves only write changed columns, never the SQL-maintained counters
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,7 +17,8 @@ import java.time.LocalDateTime;
 public class KabadiWala {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "kabadi_wala_seq")
+    @SequenceGenerator(name = "kabadi_wala_seq", sequenceName = "kabadi_walas_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -24,8 +27,6 @@ public class KabadiWala {
     @Column(nullable = false, unique = true)
     private String mobile;
 
-    private String otpCode;
-    private LocalDateTime otpExpiresAt;
     private String area;
     private String addressLine1;
     private String addressLine2;
@@ -35,6 +36,7 @@ public class KabadiWala {
     @Column(nullable = false)
     private Boolean isActive = true;
 
+    // Folded snapshot of kcoin_ledger; the live balance is KCoinLedgerService.balanceOf
     @Builder.Default
     @Column(nullable = false)
     private Integer kCoinsBalance = 0;
@@ -47,8 +49,18 @@ public class KabadiWala {
     @Column(nullable = false)
     private Boolean dailyThresholdUnlocked = false;
 
+    // Daily counters are only valid for the day in lastThresholdReset; older values read as reset
     private LocalDate lastThresholdReset;
 
+    // Lifetime counters, maintained per logged transaction by atomic SQL (see KabadiWalaRepository)
+    @Builder.Default
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalCollectedKg = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long transactionCount = 0L;
+
     @Builder.Default
     @Column(nullable = false)
     private Boolean priorityActive = false;
@@ -66,4 +78,13 @@ public class KabadiWala {
     // Lat/Long for map discovery
     private Double latitude;
     private Double longitude;
+
+    /** Kg collected on {@code day}, treating counters from an earlier day as already reset. */
+    public BigDecimal dailyCollectedKgOn(LocalDate day) {
+        return day.equals(lastThresholdReset) && dailyCollectedKg != null ? dailyCollectedKg : BigDecimal.ZERO;
+    }
+
+    public boolean dailyThresholdUnlockedOn(LocalDate day) {
+        return day.equals(lastThresholdReset) && Boolean.TRUE.equals(dailyThresholdUnlocked);
+    }
 }
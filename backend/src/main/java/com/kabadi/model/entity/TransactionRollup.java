@@ -0,0 +1,43 @@
+package com.kabadi.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "transaction_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String ownerType;  // KABADI | USER
+
+    @Column(nullable = false)
+    private Long ownerId;
+
+    @Column(nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(nullable = false)
+    private String materialType;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalWeightKg = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long transactionCount = 0L;
+}
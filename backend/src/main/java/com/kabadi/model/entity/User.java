@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -22,9 +23,6 @@ public class User {
     @Column(nullable = false, unique = true)
     private String mobile;
 
-    private String otpCode;
-    private LocalDateTime otpExpiresAt;
-
     @Column(unique = true)
     private String wasteRecyclerId;
 
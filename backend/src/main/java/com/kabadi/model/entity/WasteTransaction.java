@@ -3,6 +3,8 @@ package com.kabadi.model.entity;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ResultCheckStyle;
+import org.hibernate.annotations.SQLInsert;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -13,20 +15,33 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+// A repeated (kabadi_wala_id, idempotency_key) inserts nothing instead of aborting the batch; the
+// ingest path finds such rows afterwards. Columns in Hibernate's bind order (attributes A-Z, id last).
+@SQLInsert(sql = """
+    INSERT INTO waste_transactions (amount_paid, idempotency_key, kabadi_wala_id, material_type, price_per_kg,
+                                    transaction_time, user_id, weight_kg, id)
+    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+    ON CONFLICT (kabadi_wala_id, idempotency_key) WHERE idempotency_key IS NOT NULL DO NOTHING
+    """, check = ResultCheckStyle.NONE)
 public class WasteTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waste_tx_seq")
+    @SequenceGenerator(name = "waste_tx_seq", sequenceName = "waste_transactions_id_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "user_id")
-    @JsonIgnoreProperties({"otpCode", "otpExpiresAt", "hibernateLazyInitializer", "handler"})
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private User user;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "kabadi_wala_id", nullable = false)
-    @JsonIgnoreProperties({"otpCode", "otpExpiresAt", "hibernateLazyInitializer", "handler"})
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private KabadiWala kabadiWala;
 
     @Column(nullable = false)
@@ -41,6 +56,10 @@ public class WasteTransaction {
     @Column(precision = 10, scale = 2)
     private BigDecimal pricePerKg;
 
+    /** Client-generated key; a repeated (kabadiWala, key) pair is treated as the same weighing. */
+    @Column(length = 64)
+    private String idempotencyKey;
+
     @Builder.Default
     private LocalDateTime transactionTime = LocalDateTime.now();
 }
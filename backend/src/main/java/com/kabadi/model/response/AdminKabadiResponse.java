@@ -0,0 +1,31 @@
+package com.kabadi.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Admin kabadi-wala row. The K-coin balance is live (folded snapshot plus the unfolded ledger
+ * tail); the raw daily counters are left out, they are only meaningful for lastThresholdReset.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdminKabadiResponse {
+    private Long id;
+    private String name;
+    private String mobile;
+    private String area;
+    private String pincode;
+    private Boolean isActive;
+    private Integer liveKCoinBalance;
+    private BigDecimal totalCollectedKg;
+    private Long transactionCount;
+    private Boolean priorityActive;
+    private LocalDateTime priorityExpiresAt;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,48 @@
+package com.kabadi.model.response;
+
+import com.kabadi.model.entity.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** Flat booking row: the citizen and the assigned kabadi-wala are reduced to the fields the UIs show. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingResponse {
+    private Long id;
+    private Long userId;
+    private String userName;
+    private String userMobile;
+    private Long kabadiWalaId;
+    private String kabadiWalaName;
+    private String pickupAddress;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime scheduledAt;
+    private String status;
+    private String materialType;
+    private BigDecimal expectedWeightKg;
+    private LocalDateTime createdAt;
+
+    /** Callers must have the user and kabadi-wala loaded (or be inside a transaction). */
+    public static BookingResponse of(Booking b) {
+        return BookingResponse.builder()
+            .id(b.getId())
+            .userId(b.getUser().getId()).userName(b.getUser().getName()).userMobile(b.getUser().getMobile())
+            .kabadiWalaId(b.getKabadiWala() != null ? b.getKabadiWala().getId() : null)
+            .kabadiWalaName(b.getKabadiWala() != null ? b.getKabadiWala().getName() : null)
+            .pickupAddress(b.getPickupAddress())
+            .latitude(b.getLatitude()).longitude(b.getLongitude())
+            .scheduledAt(b.getScheduledAt())
+            .status(b.getStatus())
+            .materialType(b.getMaterialType())
+            .expectedWeightKg(b.getExpectedWeightKg())
+            .createdAt(b.getCreatedAt())
+            .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.kabadi.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/** One page of a keyset-paginated listing; {@code nextCursor} is null on the last page. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    public static <T> CursorPage<T> of(List<T> items, String nextCursor) {
+        return CursorPage.<T>builder().items(items).nextCursor(nextCursor).build();
+    }
+}
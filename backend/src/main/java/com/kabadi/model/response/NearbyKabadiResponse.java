@@ -0,0 +1,20 @@
+package com.kabadi.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NearbyKabadiResponse {
+    private Long id;
+    private String name;
+    private String area;
+    private Double latitude;
+    private Double longitude;
+    private Boolean priorityActive;
+    private Double distanceKm;
+}
@@ -0,0 +1,29 @@
+package com.kabadi.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+import java.util.List;
+
+/** One offset page without a total count, so large tables are never counted. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PageResponse<T> {
+    private List<T> items;
+    private int page;
+    private int size;
+    private boolean hasNext;
+
+    public static <T> PageResponse<T> of(Slice<T> slice) {
+        return PageResponse.<T>builder()
+            .items(slice.getContent())
+            .page(slice.getNumber())
+            .size(slice.getSize())
+            .hasNext(slice.hasNext())
+            .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.kabadi.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupBucket {
+    private LocalDate bucketStart;
+    private String materialType;
+    private BigDecimal weightKg;
+    private BigDecimal amount;
+    private Long transactionCount;
+}
@@ -0,0 +1,26 @@
+package com.kabadi.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** Flat transaction row: the joined citizen and kabadi-wala are reduced to id + name. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionResponse {
+    private Long id;
+    private Long userId;
+    private String userName;
+    private Long kabadiWalaId;
+    private String kabadiWalaName;
+    private String materialType;
+    private BigDecimal weightKg;
+    private BigDecimal amountPaid;
+    private BigDecimal pricePerKg;
+    private LocalDateTime transactionTime;
+}
@@ -2,8 +2,13 @@ package com.kabadi.repository;
 
 import com.kabadi.model.entity.AdminConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface AdminConfigRepository extends JpaRepository<AdminConfig, Long> {
     Optional<AdminConfig> findByConfigKey(String configKey);
+
+    @Query("SELECT MAX(c.updatedAt) FROM AdminConfig c")
+    LocalDateTime findLatestUpdate();
 }
@@ -1,11 +1,71 @@
 package com.kabadi.repository;
 
 import com.kabadi.model.entity.Booking;
+import com.kabadi.model.response.BookingResponse;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByUserIdOrderByCreatedAtDesc(Long userId);
-    List<Booking> findByKabadiWalaIdOrderByCreatedAtDesc(Long kabadiWalaId);
+    // Listings are single joined queries straight into the DTO
+    @Query("""
+        SELECT new com.kabadi.model.response.BookingResponse(
+            b.id, u.id, u.name, u.mobile, k.id, k.name, b.pickupAddress, b.latitude, b.longitude,
+            b.scheduledAt, b.status, b.materialType, b.expectedWeightKg, b.createdAt)
+        FROM Booking b JOIN b.user u LEFT JOIN b.kabadiWala k
+        WHERE u.id = :id
+        ORDER BY b.createdAt DESC, b.id DESC
+        """)
+    List<BookingResponse> findUserBookings(@Param("id") Long userId);
+
+    @Query("""
+        SELECT new com.kabadi.model.response.BookingResponse(
+            b.id, u.id, u.name, u.mobile, k.id, k.name, b.pickupAddress, b.latitude, b.longitude,
+            b.scheduledAt, b.status, b.materialType, b.expectedWeightKg, b.createdAt)
+        FROM Booking b JOIN b.user u JOIN b.kabadiWala k
+        WHERE k.id = :id
+        ORDER BY b.createdAt DESC, b.id DESC
+        """)
+    List<BookingResponse> findKabadiBookings(@Param("id") Long kabadiWalaId);
+
+    // Single-row updates that answer with a BookingResponse load both parties in the same select
+    @EntityGraph(attributePaths = {"user", "kabadiWala"})
+    Optional<Booking> findWithPartiesById(Long id);
+
     List<Booking> findByUserIdAndStatus(Long userId, String status);
+
+    // Dispatch pass: one node at a time, released when the pass's transaction ends
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('booking-dispatch'))", nativeQuery = true)
+    boolean tryLockDispatch();
+
+    // Served from idx_bookings_pending_unassigned; keyset on id so unmatchable bookings don't block the rest
+    @Query(value = """
+        SELECT id AS "id", latitude AS "latitude", longitude AS "longitude"
+        FROM bookings
+        WHERE status = 'PENDING' AND kabadi_wala_id IS NULL AND id > :afterId
+          AND latitude IS NOT NULL AND longitude IS NOT NULL
+        ORDER BY id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<OpenBookingView> findUndispatched(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Query(value = """
+        SELECT kabadi_wala_id AS "kabadiWalaId", CAST(COUNT(*) AS INTEGER) AS "openBookings"
+        FROM bookings
+        WHERE status = 'PENDING' AND kabadi_wala_id IS NOT NULL
+        GROUP BY kabadi_wala_id
+        """, nativeQuery = true)
+    List<VendorLoadView> countOpenByVendor();
+
+    // Applies a whole pass in one statement; rows cancelled or claimed meanwhile are left alone
+    @Query(value = """
+        UPDATE bookings b SET kabadi_wala_id = a.kabadi_wala_id
+        FROM unnest(CAST(:ids AS BIGINT[]), CAST(:kabadiWalaIds AS BIGINT[])) AS a(id, kabadi_wala_id)
+        WHERE b.id = a.id AND b.status = 'PENDING' AND b.kabadi_wala_id IS NULL
+        RETURNING b.id
+        """, nativeQuery = true)
+    List<Long> assign(@Param("ids") Long[] ids, @Param("kabadiWalaIds") Long[] kabadiWalaIds);
 }
@@ -0,0 +1,57 @@
+package com.kabadi.repository;
+
+import com.kabadi.model.entity.CitizenStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface CitizenStatsRepository extends JpaRepository<CitizenStats, Long> {
+    Optional<CitizenStats> findByUserIdAndPeriodTypeAndPeriodStart(Long userId, String periodType, LocalDate periodStart);
+
+    // Adds to all four period rows in one round-trip; concurrent writers merge via ON CONFLICT
+    @Modifying
+    @Query(value = """
+        INSERT INTO citizen_stats (user_id, period_type, period_start, total_earnings, total_weight_kg, transaction_count)
+        VALUES (:userId, 'LIFETIME', DATE '1970-01-01', :earnings, :weightKg, :txCount),
+               (:userId, 'YEAR',  :yearStart,  :earnings, :weightKg, :txCount),
+               (:userId, 'MONTH', :monthStart, :earnings, :weightKg, :txCount),
+               (:userId, 'DAY',   :day,        :earnings, :weightKg, :txCount)
+        ON CONFLICT (user_id, period_type, period_start) DO UPDATE
+        SET total_earnings    = citizen_stats.total_earnings    + EXCLUDED.total_earnings,
+            total_weight_kg   = citizen_stats.total_weight_kg   + EXCLUDED.total_weight_kg,
+            transaction_count = citizen_stats.transaction_count + EXCLUDED.transaction_count
+        """, nativeQuery = true)
+    void addToPeriods(@Param("userId") Long userId,
+                      @Param("yearStart") LocalDate yearStart,
+                      @Param("monthStart") LocalDate monthStart,
+                      @Param("day") LocalDate day,
+                      @Param("earnings") BigDecimal earnings,
+                      @Param("weightKg") BigDecimal weightKg,
+                      @Param("txCount") long txCount);
+
+    @Modifying
+    @Query(value = "DELETE FROM citizen_stats", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO citizen_stats (user_id, period_type, period_start, total_earnings, total_weight_kg, transaction_count)
+        SELECT user_id, p.period_type,
+               CASE p.period_type
+                   WHEN 'LIFETIME' THEN DATE '1970-01-01'
+                   WHEN 'YEAR'     THEN CAST(date_trunc('year',  t.transaction_time) AS date)
+                   WHEN 'MONTH'    THEN CAST(date_trunc('month', t.transaction_time) AS date)
+                   ELSE CAST(t.transaction_time AS date)
+               END,
+               SUM(COALESCE(t.amount_paid, 0)), SUM(t.weight_kg), COUNT(*)
+        FROM waste_transactions t
+        CROSS JOIN (VALUES ('LIFETIME'), ('YEAR'), ('MONTH'), ('DAY')) AS p(period_type)
+        WHERE t.user_id IS NOT NULL
+        GROUP BY user_id, p.period_type, 3
+        """, nativeQuery = true)
+    int insertFromTransactions();
+}
@@ -0,0 +1,7 @@
+package com.kabadi.repository;
+
+/** A stored transaction id with the client key it was synced under. */
+public interface IdempotencyKeyView {
+    Long getId();
+    String getIdempotencyKey();
+}
@@ -0,0 +1,79 @@
+package com.kabadi.repository;
+
+import com.kabadi.model.entity.KCoinLedgerEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface KCoinLedgerRepository extends JpaRepository<KCoinLedgerEntry, Long> {
+
+    // Snapshot plus the not-yet-folded tail (idx_kcoin_ledger_unfolded keeps the tail lookup small)
+    @Query(value = """
+        SELECT k.k_coins_balance + COALESCE((
+            SELECT SUM(l.amount) FROM kcoin_ledger l
+            WHERE l.kabadi_wala_id = k.id AND l.folded_at IS NULL
+        ), 0)
+        FROM kabadi_walas k WHERE k.id = :id
+        """, nativeQuery = true)
+    Integer balanceOf(@Param("id") Long kabadiWalaId);
+
+    // Rolls every visible unfolded entry into kabadi_walas.k_coins_balance in one statement.
+    // Entries still in flight are invisible here and simply get folded next time.
+    @Transactional
+    @Modifying
+    @Query(value = """
+        WITH folded AS (
+            UPDATE kcoin_ledger SET folded_at = NOW()
+            WHERE folded_at IS NULL
+            RETURNING kabadi_wala_id, amount
+        ), totals AS (
+            SELECT kabadi_wala_id, SUM(amount) AS total FROM folded GROUP BY kabadi_wala_id
+        )
+        UPDATE kabadi_walas k
+        SET k_coins_balance = k.k_coins_balance + t.total
+        FROM totals t
+        WHERE k.id = t.kabadi_wala_id
+        """, nativeQuery = true)
+    int foldAll();
+
+    List<KCoinLedgerEntry> findByKabadiWalaIdAndIdLessThanOrderByIdDesc(Long kabadiWalaId, Long beforeId, Limit limit);
+
+    // Day V15 introduced the ledger. Coins earned up to then only exist inside the OPENING_BALANCE
+    // adjustments (and earlier spends not at all), so that day and older have no per-day EARN rows.
+    @Query(value = """
+        SELECT CAST(COALESCE(
+            (SELECT installed_on FROM flyway_schema_history WHERE version = '15' AND success),
+            (SELECT MIN(created_at) FROM kcoin_ledger)) AS DATE)
+        """, nativeQuery = true)
+    LocalDate findLedgerStartDate();
+
+    // Coins each vendor-day would earn under the given config vs EARN + replay ADJUST entries recorded for it
+    @Query(value = """
+        SELECT x.kabadi_wala_id AS "kabadiWalaId", x.day AS "day",
+               x.expected AS "expected", CAST(COALESCE(r.recorded, 0) AS INTEGER) AS "recorded"
+        FROM (
+            SELECT kabadi_wala_id, CAST(transaction_time AS date) AS day,
+                   CAST(FLOOR(GREATEST(SUM(weight_kg) - :thresholdKg, 0) / :kgPerCoin) AS INTEGER) AS expected
+            FROM waste_transactions
+            WHERE transaction_time >= :from
+            GROUP BY kabadi_wala_id, CAST(transaction_time AS date)
+        ) x
+        LEFT JOIN (
+            SELECT kabadi_wala_id, business_date, SUM(amount) AS recorded
+            FROM kcoin_ledger
+            WHERE business_date >= CAST(:from AS date)
+              AND (entry_type = 'EARN' OR (entry_type = 'ADJUST' AND reason = 'REPLAY'))
+            GROUP BY kabadi_wala_id, business_date
+        ) r ON r.kabadi_wala_id = x.kabadi_wala_id AND r.business_date = x.day
+        WHERE x.expected <> COALESCE(r.recorded, 0)
+        ORDER BY x.kabadi_wala_id, x.day
+        """, nativeQuery = true)
+    List<KCoinReplayView> findReplayDiffs(@Param("from") LocalDateTime from,
+                                          @Param("thresholdKg") int thresholdKg, @Param("kgPerCoin") int kgPerCoin);
+}
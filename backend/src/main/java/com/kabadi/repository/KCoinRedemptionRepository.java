@@ -2,8 +2,38 @@ package com.kabadi.repository;
 
 import com.kabadi.model.entity.KCoinRedemption;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface KCoinRedemptionRepository extends JpaRepository<KCoinRedemption, Long> {
     Optional<KCoinRedemption> findByKabadiWalaIdAndIsActiveTrue(Long kabadiWalaId);
+    long countByIsActiveTrue();
+
+    // Earliest pending expiry; served from idx_redemptions_active_valid_until
+    @Query("SELECT MIN(r.validUntil) FROM KCoinRedemption r WHERE r.isActive = true")
+    LocalDateTime findNextExpiry();
+
+    // Deactivates every due redemption and clears the vendor's priority flag in one statement.
+    // Vendors that still hold another active redemption are left alone.
+    @Transactional
+    @Query(value = """
+        WITH expired AS (
+            UPDATE k_coin_redemptions SET is_active = false
+            WHERE is_active = true AND valid_until <= :now
+            RETURNING kabadi_wala_id
+        )
+        UPDATE kabadi_walas k SET priority_active = false, priority_expires_at = NULL
+        FROM (SELECT DISTINCT kabadi_wala_id FROM expired) e
+        WHERE k.id = e.kabadi_wala_id
+          AND NOT EXISTS (
+              SELECT 1 FROM k_coin_redemptions r
+              WHERE r.kabadi_wala_id = k.id AND r.is_active = true AND r.valid_until > :now
+          )
+        RETURNING k.id
+        """, nativeQuery = true)
+    List<Long> expireDue(@Param("now") LocalDateTime now);
 }
@@ -0,0 +1,11 @@
+package com.kabadi.repository;
+
+import java.time.LocalDate;
+
+/** Per vendor-day comparison of coins the current config would award vs coins on the ledger. */
+public interface KCoinReplayView {
+    Long getKabadiWalaId();
+    LocalDate getDay();
+    Integer getExpected();
+    Integer getRecorded();
+}
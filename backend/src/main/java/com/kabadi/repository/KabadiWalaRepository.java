@@ -1,57 +1,208 @@
 package com.kabadi.repository;
 
 import com.kabadi.model.entity.KabadiWala;
+import com.kabadi.model.response.AdminKabadiResponse;
+import com.kabadi.util.GeoUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface KabadiWalaRepository extends JpaRepository<KabadiWala, Long> {
     Optional<KabadiWala> findByMobile(String mobile);
     boolean existsByMobile(String mobile);
+    boolean existsByMobileAndNameIsNotNull(String mobile);
 
+    @Query("SELECT k FROM KabadiWala k WHERE k.isActive = true AND k.latitude IS NOT NULL AND k.longitude IS NOT NULL")
+    List<KabadiWala> findAllActiveWithLocation();
+
+    // Admin listing; null filters are ignored, the date range is always bound. The live balance
+    // adds each row's unfolded ledger tail (idx_kcoin_ledger_unfolded); sorts use the snapshot.
+    @Query("""
+        SELECT new com.kabadi.model.response.AdminKabadiResponse(
+            k.id, k.name, k.mobile, k.area, k.pincode, k.isActive,
+            CAST(k.kCoinsBalance + COALESCE((SELECT SUM(l.amount) FROM KCoinLedgerEntry l
+                                             WHERE l.kabadiWalaId = k.id AND l.foldedAt IS NULL), 0) AS Integer),
+            k.totalCollectedKg, k.transactionCount, k.priorityActive, k.priorityExpiresAt, k.createdAt)
+        FROM KabadiWala k
+        WHERE (:q IS NULL OR LOWER(k.name) LIKE :q)
+          AND (:mobile IS NULL OR k.mobile LIKE :mobile)
+          AND (:area IS NULL OR LOWER(k.area) LIKE :area)
+          AND (:pincode IS NULL OR k.pincode = :pincode)
+          AND (:active IS NULL OR k.isActive = :active)
+          AND k.createdAt >= :from
+          AND k.createdAt < :to
+        """)
+    Slice<AdminKabadiResponse> searchAdmin(@Param("q") String q, @Param("mobile") String mobile, @Param("area") String area,
+                                           @Param("pincode") String pincode, @Param("active") Boolean active,
+                                           @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                           Pageable pageable);
+
+    // Rebuilds lifetime counters from waste_transactions, touching only rows that drifted
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE kabadi_walas k
+        SET total_collected_kg = COALESCE(t.total_kg, 0),
+            transaction_count  = COALESCE(t.tx_count, 0)
+        FROM kabadi_walas k2
+        LEFT JOIN (
+            SELECT kabadi_wala_id, SUM(weight_kg) AS total_kg, COUNT(*) AS tx_count
+            FROM waste_transactions
+            GROUP BY kabadi_wala_id
+        ) t ON t.kabadi_wala_id = k2.id
+        WHERE k.id = k2.id
+          AND (k.total_collected_kg, k.transaction_count)
+              IS DISTINCT FROM (COALESCE(t.total_kg, 0), COALESCE(t.tx_count, 0))
+        """, nativeQuery = true)
+    int recomputeLifetimeTotals();
+
+    // Adds one transaction's weight, rolling the daily counter over first if it is from an earlier day.
+    // The row lock taken here serialises concurrent loggers for the same vendor until commit.
+    @Query(value = """
+        UPDATE kabadi_walas
+        SET daily_collected_kg = CASE WHEN last_threshold_reset = :today THEN daily_collected_kg ELSE 0 END + :kg,
+            daily_threshold_unlocked = CASE WHEN last_threshold_reset = :today THEN daily_collected_kg ELSE 0 END + :kg
+                                       >= :thresholdKg,
+            last_threshold_reset = :today,
+            total_collected_kg = total_collected_kg + :kg,
+            transaction_count = transaction_count + :txCount
+        WHERE id = :id
+        RETURNING daily_collected_kg
+        """, nativeQuery = true)
+    BigDecimal addCollectedKg(@Param("id") Long id, @Param("kg") BigDecimal kg, @Param("txCount") int txCount,
+                              @Param("thresholdKg") int thresholdKg, @Param("today") LocalDate today);
+
+    // Lifetime totals only, for weighings synced after their business day has passed
+    @Modifying
+    @Query("UPDATE KabadiWala k SET k.totalCollectedKg = k.totalCollectedKg + :kg, " +
+           "k.transactionCount = k.transactionCount + :txCount WHERE k.id = :id")
+    void addLifetimeTotals(@Param("id") Long id, @Param("kg") BigDecimal kg, @Param("txCount") int txCount);
+
+    // Serialises redemptions for one vendor so the ledger balance check cannot be raced
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT k FROM KabadiWala k WHERE k.id = :id")
+    Optional<KabadiWala> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT MIN(k.id) FROM KabadiWala k")
+    Long findMinId();
+
+    @Query("SELECT MAX(k.id) FROM KabadiWala k")
+    Long findMaxId();
+
+    // Set-based daily reset for one id range; rows already reset for :today are skipped
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE kabadi_walas
+        SET daily_collected_kg = 0, daily_threshold_unlocked = false, last_threshold_reset = :today
+        WHERE id BETWEEN :fromId AND :toId
+          AND (last_threshold_reset IS NULL OR last_threshold_reset < :today)
+        """, nativeQuery = true)
+    int resetDailyCounters(@Param("today") LocalDate today, @Param("fromId") long fromId, @Param("toId") long toId);
+
+    // Exact distance is only evaluated for rows inside the bounding box, which
+    // idx_kabadi_walas_discovery can narrow down; callers pass the box via the default methods below.
     @Query(value = """
-        SELECT *, (
-          6371 * acos(
-            cos(radians(:lat)) * cos(radians(latitude)) *
-            cos(radians(longitude) - radians(:lng)) +
-            sin(radians(:lat)) * sin(radians(latitude))
-          )
-        ) AS distance
-        FROM kabadi_walas
-        WHERE is_active = true
-          AND latitude IS NOT NULL
-          AND longitude IS NOT NULL
-          AND priority_active = true
-          AND priority_expires_at > NOW()
-        HAVING distance <= :radiusKm
-        ORDER BY distance ASC
+        SELECT * FROM (
+          SELECT id, name, area, latitude, longitude,
+                 priority_active AS "priorityActive",
+                 6371 * acos(LEAST(1.0,
+                   cos(radians(:lat)) * cos(radians(latitude)) *
+                   cos(radians(longitude) - radians(:lng)) +
+                   sin(radians(:lat)) * sin(radians(latitude))
+                 )) AS "distanceKm"
+          FROM kabadi_walas
+          WHERE is_active = true
+            AND priority_active = true
+            AND priority_expires_at > NOW()
+            AND latitude BETWEEN :minLat AND :maxLat
+            AND longitude BETWEEN :minLng AND :maxLng
+        ) d
+        WHERE "distanceKm" <= :radiusKm
+        ORDER BY "distanceKm" ASC, id ASC
         """, nativeQuery = true)
-    List<KabadiWala> findPriorityWithinRadius(
-        @Param("lat") double lat,
-        @Param("lng") double lng,
-        @Param("radiusKm") double radiusKm
+    List<NearbyKabadiView> findPriorityInBox(
+        @Param("lat") double lat, @Param("lng") double lng, @Param("radiusKm") double radiusKm,
+        @Param("minLat") double minLat, @Param("maxLat") double maxLat,
+        @Param("minLng") double minLng, @Param("maxLng") double maxLng
     );
 
     @Query(value = """
-        SELECT *, (
-          6371 * acos(
-            cos(radians(:lat)) * cos(radians(latitude)) *
-            cos(radians(longitude) - radians(:lng)) +
-            sin(radians(:lat)) * sin(radians(latitude))
-          )
-        ) AS distance
-        FROM kabadi_walas
-        WHERE is_active = true
-          AND latitude IS NOT NULL
-          AND longitude IS NOT NULL
-        HAVING distance <= :radiusKm
-        ORDER BY distance ASC
+        SELECT * FROM (
+          SELECT id, name, area, latitude, longitude,
+                 priority_active AS "priorityActive",
+                 6371 * acos(LEAST(1.0,
+                   cos(radians(:lat)) * cos(radians(latitude)) *
+                   cos(radians(longitude) - radians(:lng)) +
+                   sin(radians(:lat)) * sin(radians(latitude))
+                 )) AS "distanceKm"
+          FROM kabadi_walas
+          WHERE is_active = true
+            AND latitude BETWEEN :minLat AND :maxLat
+            AND longitude BETWEEN :minLng AND :maxLng
+        ) d
+        WHERE "distanceKm" <= :radiusKm
+        ORDER BY "distanceKm" ASC, id ASC
+        LIMIT :limit
         """, nativeQuery = true)
-    List<KabadiWala> findNearbyWithinRadius(
-        @Param("lat") double lat,
-        @Param("lng") double lng,
-        @Param("radiusKm") double radiusKm
+    List<NearbyKabadiView> findNearbyInBox(
+        @Param("lat") double lat, @Param("lng") double lng, @Param("radiusKm") double radiusKm,
+        @Param("minLat") double minLat, @Param("maxLat") double maxLat,
+        @Param("minLng") double minLng, @Param("maxLng") double maxLng, @Param("limit") int limit
     );
+
+    // Keyset page over (distance, id) for the top-K mode
+    @Query(value = """
+        SELECT * FROM (
+          SELECT id, name, area, latitude, longitude,
+                 priority_active AS "priorityActive",
+                 6371 * acos(LEAST(1.0,
+                   cos(radians(:lat)) * cos(radians(latitude)) *
+                   cos(radians(longitude) - radians(:lng)) +
+                   sin(radians(:lat)) * sin(radians(latitude))
+                 )) AS "distanceKm"
+          FROM kabadi_walas
+          WHERE is_active = true
+            AND latitude BETWEEN :minLat AND :maxLat
+            AND longitude BETWEEN :minLng AND :maxLng
+        ) d
+        WHERE "distanceKm" <= :radiusKm
+          AND ("distanceKm" > :afterKm OR ("distanceKm" = :afterKm AND id > :afterId))
+        ORDER BY "distanceKm" ASC, id ASC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<NearbyKabadiView> findNearestInBox(
+        @Param("lat") double lat, @Param("lng") double lng, @Param("radiusKm") double radiusKm,
+        @Param("minLat") double minLat, @Param("maxLat") double maxLat,
+        @Param("minLng") double minLng, @Param("maxLng") double maxLng,
+        @Param("afterKm") double afterKm, @Param("afterId") long afterId, @Param("limit") int limit
+    );
+
+    default List<NearbyKabadiView> findPriorityWithinRadius(double lat, double lng, double radiusKm) {
+        double dLat = GeoUtils.latDelta(radiusKm), dLng = GeoUtils.lngDelta(radiusKm, lat);
+        return findPriorityInBox(lat, lng, radiusKm, lat - dLat, lat + dLat, lng - dLng, lng + dLng);
+    }
+
+    default List<NearbyKabadiView> findNearbyWithinRadius(double lat, double lng, double radiusKm, int limit) {
+        double dLat = GeoUtils.latDelta(radiusKm), dLng = GeoUtils.lngDelta(radiusKm, lat);
+        return findNearbyInBox(lat, lng, radiusKm, lat - dLat, lat + dLat, lng - dLng, lng + dLng, limit);
+    }
+
+    default List<NearbyKabadiView> findNearest(double lat, double lng, double radiusKm,
+                                               double afterKm, long afterId, int limit) {
+        double dLat = GeoUtils.latDelta(radiusKm), dLng = GeoUtils.lngDelta(radiusKm, lat);
+        return findNearestInBox(lat, lng, radiusKm, lat - dLat, lat + dLat, lng - dLng, lng + dLng,
+            afterKm, afterId, limit);
+    }
 }
@@ -0,0 +1,12 @@
+package com.kabadi.repository;
+
+/** Row shape of the nearby/priority native queries, including the computed distance. */
+public interface NearbyKabadiView {
+    Long getId();
+    String getName();
+    String getArea();
+    Double getLatitude();
+    Double getLongitude();
+    Boolean getPriorityActive();
+    Double getDistanceKm();
+}
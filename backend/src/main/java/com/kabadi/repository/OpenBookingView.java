@@ -0,0 +1,8 @@
+package com.kabadi.repository;
+
+/** Unassigned PENDING booking with a pickup location, as read by the dispatch pass. */
+public interface OpenBookingView {
+    Long getId();
+    Double getLatitude();
+    Double getLongitude();
+}
@@ -0,0 +1,13 @@
+package com.kabadi.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** One (bucket, material) point of a rollup series. */
+public interface RollupBucketView {
+    LocalDate getBucketStart();
+    String getMaterialType();
+    BigDecimal getWeightKg();
+    BigDecimal getAmount();
+    Long getTransactionCount();
+}
@@ -0,0 +1,68 @@
+package com.kabadi.repository;
+
+import com.kabadi.model.entity.TransactionRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, Long> {
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO transaction_rollups (owner_type, owner_id, bucket_date, material_type,
+                                         total_weight_kg, total_amount, transaction_count)
+        VALUES (:ownerType, :ownerId, :day, :materialType, :weightKg, :amount, :txCount)
+        ON CONFLICT (owner_type, owner_id, bucket_date, material_type) DO UPDATE
+        SET total_weight_kg   = transaction_rollups.total_weight_kg   + EXCLUDED.total_weight_kg,
+            total_amount      = transaction_rollups.total_amount      + EXCLUDED.total_amount,
+            transaction_count = transaction_rollups.transaction_count + EXCLUDED.transaction_count
+        """, nativeQuery = true)
+    void addToBucket(@Param("ownerType") String ownerType,
+                     @Param("ownerId") Long ownerId,
+                     @Param("day") LocalDate day,
+                     @Param("materialType") String materialType,
+                     @Param("weightKg") BigDecimal weightKg,
+                     @Param("amount") BigDecimal amount,
+                     @Param("txCount") long txCount);
+
+    // unit is a date_trunc field: day | month | year
+    @Query(value = """
+        SELECT CAST(date_trunc(:unit, CAST(bucket_date AS timestamp)) AS date) AS "bucketStart",
+               material_type          AS "materialType",
+               SUM(total_weight_kg)   AS "weightKg",
+               SUM(total_amount)      AS "amount",
+               SUM(transaction_count) AS "transactionCount"
+        FROM transaction_rollups
+        WHERE owner_type = :ownerType
+          AND owner_id = :ownerId
+          AND bucket_date >= :fromDate
+        GROUP BY 1, 2
+        ORDER BY 1, 2
+        """, nativeQuery = true)
+    List<RollupBucketView> findSeries(@Param("ownerType") String ownerType,
+                                      @Param("ownerId") Long ownerId,
+                                      @Param("fromDate") LocalDate fromDate,
+                                      @Param("unit") String unit);
+
+    @Modifying
+    @Query(value = "DELETE FROM transaction_rollups", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO transaction_rollups (owner_type, owner_id, bucket_date, material_type,
+                                         total_weight_kg, total_amount, transaction_count)
+        SELECT o.owner_type, CASE o.owner_type WHEN 'KABADI' THEN t.kabadi_wala_id ELSE t.user_id END,
+               CAST(t.transaction_time AS date), t.material_type,
+               SUM(t.weight_kg), SUM(COALESCE(t.amount_paid, 0)), COUNT(*)
+        FROM waste_transactions t
+        CROSS JOIN (VALUES ('KABADI'), ('USER')) AS o(owner_type)
+        WHERE o.owner_type = 'KABADI' OR t.user_id IS NOT NULL
+        GROUP BY 1, 2, 3, 4
+        """, nativeQuery = true)
+    int insertFromTransactions();
+}
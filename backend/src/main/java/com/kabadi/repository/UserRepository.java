@@ -1,11 +1,29 @@
 package com.kabadi.repository;
 
 import com.kabadi.model.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByMobile(String mobile);
     boolean existsByMobile(String mobile);
+    boolean existsByMobileAndWasteRecyclerIdIsNotNull(String mobile);
     Optional<User> findByWasteRecyclerId(String wasteRecyclerId);
+
+    // Admin listing; null filters are ignored, the date range is always bound
+    @Query("""
+        SELECT u FROM User u
+        WHERE (:q IS NULL OR LOWER(u.name) LIKE :q)
+          AND (:mobile IS NULL OR u.mobile LIKE :mobile)
+          AND (:pincode IS NULL OR u.pincode = :pincode)
+          AND u.createdAt >= :from
+          AND u.createdAt < :to
+        """)
+    Slice<User> searchAdmin(@Param("q") String q, @Param("mobile") String mobile, @Param("pincode") String pincode,
+                            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
 }
@@ -0,0 +1,7 @@
+package com.kabadi.repository;
+
+/** PENDING bookings currently assigned to one kabadi-wala. */
+public interface VendorLoadView {
+    Long getKabadiWalaId();
+    Integer getOpenBookings();
+}
@@ -1,25 +1,74 @@
 package com.kabadi.repository;
 
 import com.kabadi.model.entity.WasteTransaction;
+import com.kabadi.model.response.TransactionResponse;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface WasteTransactionRepository extends JpaRepository<WasteTransaction, Long> {
-    List<WasteTransaction> findByKabadiWalaIdOrderByTransactionTimeDesc(Long kabadiWalaId);
-    List<WasteTransaction> findByUserIdOrderByTransactionTimeDesc(Long userId);
+    // Keyset pages, newest first: rows strictly before (beforeTime, beforeId) and not older than :from
+    @Query("""
+        SELECT new com.kabadi.model.response.TransactionResponse(
+            t.id, u.id, u.name, k.id, k.name, t.materialType, t.weightKg, t.amountPaid, t.pricePerKg, t.transactionTime)
+        FROM WasteTransaction t JOIN t.kabadiWala k LEFT JOIN t.user u
+        WHERE k.id = :id AND t.transactionTime >= :from
+          AND (t.transactionTime < :beforeTime OR (t.transactionTime = :beforeTime AND t.id < :beforeId))
+        ORDER BY t.transactionTime DESC, t.id DESC
+        """)
+    List<TransactionResponse> findKabadiPage(@Param("id") Long id, @Param("from") LocalDateTime from,
+                                             @Param("beforeTime") LocalDateTime beforeTime,
+                                             @Param("beforeId") Long beforeId, Limit limit);
 
-    @Query("SELECT t FROM WasteTransaction t WHERE t.kabadiWala.id = :id AND t.transactionTime >= :from ORDER BY t.transactionTime DESC")
-    List<WasteTransaction> findByKabadiWalaIdSince(@Param("id") Long id, @Param("from") LocalDateTime from);
+    @Query("""
+        SELECT new com.kabadi.model.response.TransactionResponse(
+            t.id, u.id, u.name, k.id, k.name, t.materialType, t.weightKg, t.amountPaid, t.pricePerKg, t.transactionTime)
+        FROM WasteTransaction t JOIN t.user u JOIN t.kabadiWala k
+        WHERE u.id = :id AND t.transactionTime >= :from
+          AND (t.transactionTime < :beforeTime OR (t.transactionTime = :beforeTime AND t.id < :beforeId))
+        ORDER BY t.transactionTime DESC, t.id DESC
+        """)
+    List<TransactionResponse> findUserPage(@Param("id") Long id, @Param("from") LocalDateTime from,
+                                           @Param("beforeTime") LocalDateTime beforeTime,
+                                           @Param("beforeId") Long beforeId, Limit limit);
 
-    @Query("SELECT t FROM WasteTransaction t WHERE t.user.id = :id AND t.transactionTime >= :from ORDER BY t.transactionTime DESC")
-    List<WasteTransaction> findByUserIdSince(@Param("id") Long id, @Param("from") LocalDateTime from);
+    // Admin listing; null filters are ignored, the date range is always bound
+    @Query("""
+        SELECT new com.kabadi.model.response.TransactionResponse(
+            t.id, u.id, u.name, k.id, k.name, t.materialType, t.weightKg, t.amountPaid, t.pricePerKg, t.transactionTime)
+        FROM WasteTransaction t JOIN t.kabadiWala k LEFT JOIN t.user u
+        WHERE (:kabadiWalaId IS NULL OR k.id = :kabadiWalaId)
+          AND (:userId IS NULL OR u.id = :userId)
+          AND (:materialType IS NULL OR t.materialType = :materialType)
+          AND t.transactionTime >= :from
+          AND t.transactionTime < :to
+        """)
+    Slice<TransactionResponse> searchAdmin(@Param("kabadiWalaId") Long kabadiWalaId, @Param("userId") Long userId,
+                                           @Param("materialType") String materialType,
+                                           @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                           Pageable pageable);
 
     // Sum weight for a kabadi-wala from a given time (used for accurate daily total)
     @Query("SELECT COALESCE(SUM(t.weightKg), 0) FROM WasteTransaction t WHERE t.kabadiWala.id = :id AND t.transactionTime >= :from")
     BigDecimal sumWeightByKabadiWalaSince(@Param("id") Long id, @Param("from") LocalDateTime from);
-}
 
+    @Query("SELECT COALESCE(SUM(t.weightKg), 0) FROM WasteTransaction t " +
+           "WHERE t.kabadiWala.id = :id AND t.transactionTime >= :from AND t.transactionTime < :to")
+    BigDecimal sumWeightByKabadiWalaBetween(@Param("id") Long id, @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+
+    @Query("SELECT t.id AS id, t.idempotencyKey AS idempotencyKey FROM WasteTransaction t " +
+           "WHERE t.kabadiWala.id = :id AND t.idempotencyKey IN :keys")
+    List<IdempotencyKeyView> findIdempotencyKeys(@Param("id") Long kabadiWalaId, @Param("keys") Collection<String> keys);
+
+    // Which of the just-inserted ids exist: a keyed row that lost an ON CONFLICT race is absent
+    @Query("SELECT t.id FROM WasteTransaction t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,27 @@
+package com.kabadi.scheduler;
+
+import com.kabadi.service.BookingDispatchService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BookingDispatchScheduler {
+
+    private final BookingDispatchService dispatcher;
+
+    @Value("${app.dispatch.enabled:true}")
+    private boolean enabled;
+
+    /** One batch of unassigned PENDING bookings per tick; the batch cursor moves on between ticks. */
+    @Scheduled(initialDelayString = "${app.dispatch.interval-ms:5000}",
+               fixedDelayString = "${app.dispatch.interval-ms:5000}")
+    @Timed("kabadi.scheduler.booking-dispatch")
+    public void dispatchBookings() {
+        if (!enabled) return;
+        dispatcher.dispatch();
+    }
+}
@@ -1,60 +1,43 @@
 package com.kabadi.scheduler;
 
-import com.kabadi.model.entity.KCoinRedemption;
-import com.kabadi.model.entity.KabadiWala;
-import com.kabadi.repository.KCoinRedemptionRepository;
-import com.kabadi.repository.KabadiWalaRepository;
+import com.kabadi.service.DailyResetService;
+import com.kabadi.service.RedemptionExpiryService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class KCoinScheduler {
 
-    private final KabadiWalaRepository kabadiRepo;
-    private final KCoinRedemptionRepository redemptionRepo;
+    private final DailyResetService dailyReset;
+    private final RedemptionExpiryService redemptionExpiry;
+
+    @Value("${app.kcoin.daily-reset.enabled:false}")
+    private boolean dailyResetEnabled;
 
-    /** Runs at midnight every day to reset daily thresholds */
+    /**
+     * Optional midnight sweep of the daily counters. Off by default: counters are reset lazily
+     * on the first transaction of the day and read as zero until then.
+     */
     @Scheduled(cron = "0 0 0 * * *")
-    @Transactional
+    @Timed("kabadi.scheduler.daily-reset")
     public void resetDailyThresholds() {
-        log.info("Running daily K-Coin threshold reset...");
-        List<KabadiWala> all = kabadiRepo.findAll();
-        for (KabadiWala kw : all) {
-            kw.setDailyCollectedKg(BigDecimal.ZERO);
-            kw.setDailyThresholdUnlocked(false);
-            kw.setLastThresholdReset(LocalDate.now());
-        }
-        kabadiRepo.saveAll(all);
-        log.info("Reset daily thresholds for {} kabadi-walas", all.size());
+        if (!dailyResetEnabled) return;
+        dailyReset.resetStaleCounters();
     }
 
-    /** Runs every 15 minutes to expire redemptions */
+    /**
+     * Safety net for the exact-time expiry timer: catches redemptions created on other nodes
+     * and re-arms the timer. Uses the indexed bulk expiry, not a table scan.
+     */
     @Scheduled(fixedRate = 900000)
-    @Transactional
+    @Timed("kabadi.scheduler.redemption-expiry")
     public void expireRedemptions() {
-        List<KCoinRedemption> active = redemptionRepo.findAll().stream()
-            .filter(r -> r.getIsActive() && r.getValidUntil().isBefore(LocalDateTime.now()))
-            .toList();
-        for (KCoinRedemption r : active) {
-            r.setIsActive(false);
-            KabadiWala kw = r.getKabadiWala();
-            kw.setPriorityActive(false);
-            kw.setPriorityExpiresAt(null);
-            kabadiRepo.save(kw);
-        }
-        if (!active.isEmpty()) {
-            redemptionRepo.saveAll(active);
-            log.info("Expired {} K-Coin redemptions", active.size());
-        }
+        redemptionExpiry.expireDueAndRearm();
     }
 }
@@ -0,0 +1,87 @@
+package com.kabadi.service;
+
+import com.kabadi.model.entity.AdminConfig;
+import com.kabadi.repository.AdminConfigRepository;
+import com.kabadi.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Process-wide snapshot of admin_config. Reads never touch the database; the snapshot is
+ * swapped atomically after local updates commit, and other nodes pick changes up by polling
+ * the table's version (latest updated_at plus row count).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdminConfigCache {
+
+    private final AdminConfigRepository configRepo;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of(), null);
+
+    private record Snapshot(Map<String, String> values, Map<String, Integer> ints, String version) {}
+
+    // ── Typed accessors ───────────────────────────────────────
+    public int dailyUnlockThresholdKg()   { return getInt("daily_unlock_threshold_kg", 20); }
+    public int kcoinsPerExtraKg()         { return getInt("kcoins_per_extra_kg", 5); }
+    public int redemptionThresholdCoins() { return getInt("redemption_threshold_coins", 30); }
+    public int redemptionValidityDays()   { return getInt("redemption_validity_days", 2); }
+
+    public int getInt(String key, int defaultVal) {
+        return snapshot.ints().getOrDefault(key, defaultVal);
+    }
+
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(snapshot.values().get(key));
+    }
+
+    @PostConstruct
+    public void refresh() {
+        List<AdminConfig> rows = configRepo.findAll();
+        Map<String, String> values = new HashMap<>();
+        Map<String, Integer> ints = new HashMap<>();
+        for (AdminConfig c : rows) {
+            values.put(c.getConfigKey(), c.getConfigValue());
+            try {
+                ints.put(c.getConfigKey(), Integer.parseInt(c.getConfigValue().trim()));
+            } catch (NumberFormatException e) {
+                log.debug("Config {} is not an integer: {}", c.getConfigKey(), c.getConfigValue());
+            }
+        }
+        snapshot = new Snapshot(Map.copyOf(values), Map.copyOf(ints), version(rows));
+        log.info("Loaded {} admin config values", values.size());
+    }
+
+    /** Reloads once the caller's transaction has committed the new value. */
+    public void refreshAfterCommit() {
+        TransactionUtils.afterCommit(this::refresh);
+    }
+
+    /** Cheap version probe so config edits made on another node reach this one. */
+    @Scheduled(initialDelayString = "${app.config.refresh-ms:30000}",
+               fixedDelayString = "${app.config.refresh-ms:30000}")
+    public void pollForChanges() {
+        String current = version(configRepo.findLatestUpdate(), configRepo.count());
+        if (!current.equals(snapshot.version())) {
+            log.info("Admin config changed on another node, reloading");
+            refresh();
+        }
+    }
+
+    private static String version(List<AdminConfig> rows) {
+        LocalDateTime latest = rows.stream().map(AdminConfig::getUpdatedAt)
+            .filter(Objects::nonNull).max(Comparator.naturalOrder()).orElse(null);
+        return version(latest, rows.size());
+    }
+
+    private static String version(LocalDateTime latestUpdate, long count) {
+        return latestUpdate + "/" + count;
+    }
+}
@@ -0,0 +1,289 @@
+package com.kabadi.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kabadi.exception.BadRequestException;
+import com.kabadi.model.dto.AdminListFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams admin tables as NDJSON or CSV. Rows are read through a server-side cursor
+ * (fixed fetch size inside a read-only transaction) and written straight to the response,
+ * so memory use does not grow with the table.
+ */
+@Service
+@Slf4j
+public class AdminExportService {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+
+    public AdminExportService(DataSource dataSource, ObjectMapper objectMapper) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbc = new NamedParameterJdbcTemplate(template);
+        this.objectMapper = objectMapper;
+    }
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        public final String contentType;
+        public final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new BadRequestException("format must be ndjson or csv");
+            }
+        }
+    }
+
+    public enum Dataset {
+        USERS, KABADIS, TRANSACTIONS;
+
+        public static Dataset parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new BadRequestException("Unknown export: " + value + " (users, kabadis or transactions)");
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long export(Dataset dataset, Format format, AdminListFilter f, OutputStream out) throws IOException {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = switch (dataset) {
+            case USERS -> usersSql(f, params);
+            case KABADIS -> kabadisSql(f, params);
+            case TRANSACTIONS -> transactionsSql(f, params);
+        };
+
+        long start = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        Long count = jdbc.query(sql, params, rs -> {
+            try {
+                rows.header(rs.getMetaData());
+                long n = 0;
+                while (rs.next()) {
+                    rows.row(rs);
+                    n++;
+                }
+                return n;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        rows.finish();
+        writer.flush();
+        log.info("Exported {} {} rows as {} in {} ms", count, dataset, format, System.currentTimeMillis() - start);
+        return count == null ? 0 : count;
+    }
+
+    private static String usersSql(AdminListFilter f, MapSqlParameterSource params) {
+        List<String> where = new ArrayList<>();
+        nameAndMobile(f, where, params, "u");
+        if (f.pincodeOrNull() != null) {
+            where.add("u.pincode = :pincode");
+            params.addValue("pincode", f.pincodeOrNull());
+        }
+        dateRange(f, where, params, "u.created_at");
+        return """
+            SELECT u.id, u.name, u.mobile, u.waste_recycler_id, u.address_line1, u.address_line2,
+                   u.pincode, u.preferred_language, u.created_at
+            FROM users u
+            """ + whereClause(where) + " ORDER BY u.id";
+    }
+
+    private static String kabadisSql(AdminListFilter f, MapSqlParameterSource params) {
+        List<String> where = new ArrayList<>();
+        nameAndMobile(f, where, params, "k");
+        if (f.areaPattern() != null) {
+            where.add("LOWER(k.area) LIKE :area");
+            params.addValue("area", f.areaPattern());
+        }
+        if (f.pincodeOrNull() != null) {
+            where.add("k.pincode = :pincode");
+            params.addValue("pincode", f.pincodeOrNull());
+        }
+        if (f.getActive() != null) {
+            where.add("k.is_active = :active");
+            params.addValue("active", f.getActive());
+        }
+        dateRange(f, where, params, "k.created_at");
+        return """
+            SELECT k.id, k.name, k.mobile, k.area, k.address_line1, k.address_line2, k.pincode, k.is_active,
+                   k.k_coins_balance + COALESCE(l.tail, 0) AS k_coins_balance,
+                   k.total_collected_kg, k.transaction_count, k.priority_active,
+                   k.priority_expires_at, k.latitude, k.longitude, k.created_at
+            FROM kabadi_walas k
+            LEFT JOIN (
+                -- Live balance = folded snapshot + unfolded tail (small; idx_kcoin_ledger_unfolded)
+                SELECT kabadi_wala_id, SUM(amount) AS tail FROM kcoin_ledger
+                WHERE folded_at IS NULL GROUP BY kabadi_wala_id
+            ) l ON l.kabadi_wala_id = k.id
+            """ + whereClause(where) + " ORDER BY k.id";
+    }
+
+    private static String transactionsSql(AdminListFilter f, MapSqlParameterSource params) {
+        List<String> where = new ArrayList<>();
+        if (f.getKabadiWalaId() != null) {
+            where.add("t.kabadi_wala_id = :kabadiWalaId");
+            params.addValue("kabadiWalaId", f.getKabadiWalaId());
+        }
+        if (f.getUserId() != null) {
+            where.add("t.user_id = :userId");
+            params.addValue("userId", f.getUserId());
+        }
+        if (f.materialTypeOrNull() != null) {
+            where.add("t.material_type = :materialType");
+            params.addValue("materialType", f.materialTypeOrNull());
+        }
+        dateRange(f, where, params, "t.transaction_time");
+        return """
+            SELECT t.id, t.user_id, u.name AS user_name, t.kabadi_wala_id, k.name AS kabadi_wala_name,
+                   t.material_type, t.weight_kg, t.amount_paid, t.price_per_kg, t.transaction_time
+            FROM waste_transactions t
+            JOIN kabadi_walas k ON k.id = t.kabadi_wala_id
+            LEFT JOIN users u ON u.id = t.user_id
+            """ + whereClause(where) + " ORDER BY t.id";
+    }
+
+    private static void nameAndMobile(AdminListFilter f, List<String> where, MapSqlParameterSource params, String alias) {
+        if (f.namePattern() != null) {
+            where.add("LOWER(" + alias + ".name) LIKE :q");
+            params.addValue("q", f.namePattern());
+        }
+        if (f.mobilePattern() != null) {
+            where.add(alias + ".mobile LIKE :mobile");
+            params.addValue("mobile", f.mobilePattern());
+        }
+    }
+
+    private static void dateRange(AdminListFilter f, List<String> where, MapSqlParameterSource params, String column) {
+        if (f.fromTime() != null) {
+            where.add(column + " >= :from");
+            params.addValue("from", f.fromTime());
+        }
+        if (f.toTime() != null) {
+            where.add(column + " < :to");
+            params.addValue("to", f.toTime());
+        }
+    }
+
+    private static String whereClause(List<String> where) {
+        return where.isEmpty() ? "" : "WHERE " + String.join(" AND ", where);
+    }
+
+    private interface RowWriter {
+        void header(ResultSetMetaData meta) throws SQLException, IOException;
+        void row(ResultSet rs) throws SQLException, IOException;
+        default void finish() throws IOException {}
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator gen;
+        private String[] columns;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.gen = objectMapper.getFactory().createGenerator(writer);
+            this.gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.gen.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void header(ResultSetMetaData meta) throws SQLException {
+            columns = new String[meta.getColumnCount()];
+            for (int i = 0; i < columns.length; i++) columns[i] = meta.getColumnLabel(i + 1);
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            gen.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                gen.writeFieldName(columns[i]);
+                Object v = rs.getObject(i + 1);
+                if (v == null) gen.writeNull();
+                else if (v instanceof BigDecimal bd) gen.writeNumber(bd);
+                else if (v instanceof Long l) gen.writeNumber(l);
+                else if (v instanceof Integer n) gen.writeNumber(n);
+                else if (v instanceof Double d) gen.writeNumber(d);
+                else if (v instanceof Boolean b) gen.writeBoolean(b);
+                else gen.writeString(text(v));
+            }
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            gen.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private int columnCount;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void header(ResultSetMetaData meta) throws SQLException, IOException {
+            columnCount = meta.getColumnCount();
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) writer.write(',');
+                writer.write(meta.getColumnLabel(i));
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) writer.write(',');
+                Object v = rs.getObject(i);
+                if (v != null) writer.write(escape(text(v)));
+            }
+            writer.write('\n');
+        }
+
+        private static String escape(String s) {
+            if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) return s;
+            return '"' + s.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private static String text(Object v) {
+        return v instanceof Timestamp ts ? ts.toLocalDateTime().toString() : v.toString();
+    }
+}
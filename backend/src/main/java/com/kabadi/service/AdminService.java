@@ -1,11 +1,21 @@
 package com.kabadi.service;
 
+import com.kabadi.exception.BadRequestException;
+import com.kabadi.model.dto.AdminListFilter;
 import com.kabadi.model.entity.*;
+import com.kabadi.model.response.AdminKabadiResponse;
+import com.kabadi.model.response.CursorPage;
+import com.kabadi.model.response.PageResponse;
+import com.kabadi.model.response.TransactionResponse;
 import com.kabadi.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -17,6 +27,22 @@ public class AdminService {
     private final KabadiWalaRepository kabadiRepo;
     private final WasteTransactionRepository txRepo;
     private final AdminConfigRepository configRepo;
+    private final AdminConfigCache configCache;
+    private final CitizenStatsService citizenStats;
+    private final RollupService rollups;
+    private final DailyResetService dailyReset;
+    private final KCoinLedgerService ledger;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final LocalDateTime START_OF_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    // Whitelisted sort keys per listing (entity property names)
+    private static final Set<String> USER_SORTS = Set.of("id", "name", "mobile", "pincode", "createdAt");
+    private static final Set<String> KABADI_SORTS = Set.of("id", "name", "mobile", "area", "pincode", "createdAt",
+        "kCoinsBalance", "totalCollectedKg", "transactionCount");
+    private static final Set<String> TX_SORTS = Set.of("id", "transactionTime", "weightKg", "amountPaid", "materialType");
 
     public Map<String, Object> getOverview() {
         return Map.of(
@@ -26,16 +52,93 @@ public class AdminService {
         );
     }
 
-    public List<User> getAllUsers() {
-        return userRepo.findAll();
+    public PageResponse<User> getUsers(AdminListFilter f, Integer page, Integer size, String sort, String dir) {
+        Pageable pageable = pageable(page, size, sort, dir, "id", USER_SORTS);
+        return PageResponse.of(userRepo.searchAdmin(f.namePattern(), f.mobilePattern(), f.pincodeOrNull(),
+            from(f), to(f), pageable));
+    }
+
+    /** Balances are live; sorting by kCoinsBalance uses the indexed snapshot, which trails by at most one fold. */
+    public PageResponse<AdminKabadiResponse> getKabadis(AdminListFilter f, Integer page, Integer size, String sort, String dir) {
+        Pageable pageable = pageable(page, size, sort, dir, "id", KABADI_SORTS);
+        return PageResponse.of(kabadiRepo.searchAdmin(f.namePattern(), f.mobilePattern(), f.areaPattern(),
+            f.pincodeOrNull(), f.getActive(), from(f), to(f), pageable));
+    }
+
+    public PageResponse<TransactionResponse> getTransactions(AdminListFilter f, Integer page, Integer size,
+                                                             String sort, String dir) {
+        Pageable pageable = pageable(page, size, sort, dir, "transactionTime", TX_SORTS);
+        return PageResponse.of(txRepo.searchAdmin(f.getKabadiWalaId(), f.getUserId(), f.materialTypeOrNull(),
+            from(f), to(f), pageable));
+    }
+
+    private static LocalDateTime from(AdminListFilter f) {
+        return f.fromTime() != null ? f.fromTime() : START_OF_TIME;
+    }
+
+    private static LocalDateTime to(AdminListFilter f) {
+        return f.toTime() != null ? f.toTime() : END_OF_TIME;
+    }
+
+    /** Offset page on a whitelisted key, with id as the tiebreaker so pages are stable. */
+    private Pageable pageable(Integer page, Integer size, String sort, String dir, String defaultSort, Set<String> allowed) {
+        String key = sort == null || sort.isBlank() ? defaultSort : sort;
+        if (!allowed.contains(key)) {
+            throw new BadRequestException("Unsupported sort key: " + key + " (allowed: " + new TreeSet<>(allowed) + ")");
+        }
+        Sort.Direction direction;
+        if (dir == null || dir.isBlank()) {
+            direction = "id".equals(key) || "name".equals(key) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        } else {
+            direction = Sort.Direction.fromOptionalString(dir)
+                .orElseThrow(() -> new BadRequestException("dir must be asc or desc"));
+        }
+        Sort order = Sort.by(direction, key);
+        if (!"id".equals(key)) order = order.and(Sort.by(direction, "id"));
+        int p = page == null ? 0 : Math.max(0, page);
+        int s = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return PageRequest.of(p, s, order);
+    }
+
+    /** Backfill/repair job for the per-vendor lifetime counters. */
+    @Transactional
+    public Map<String, Object> recomputeKabadiTotals() {
+        long start = System.currentTimeMillis();
+        int updated = kabadiRepo.recomputeLifetimeTotals();
+        return Map.of("rowsUpdated", updated, "durationMs", System.currentTimeMillis() - start);
+    }
+
+    /** Backfill/repair job for the pre-rolled citizen stats. */
+    public Map<String, Object> rebuildCitizenStats() {
+        long start = System.currentTimeMillis();
+        int rows = citizenStats.rebuildAll();
+        return Map.of("rowsWritten", rows, "durationMs", System.currentTimeMillis() - start);
+    }
+
+    /** Backfill/repair job for the per-day transaction rollups. */
+    public Map<String, Object> rebuildRollups() {
+        long start = System.currentTimeMillis();
+        int rows = rollups.rebuildAll();
+        return Map.of("rowsWritten", rows, "durationMs", System.currentTimeMillis() - start);
+    }
+
+    /** Bulk reset of stale daily K-coin counters (normally applied lazily). */
+    public Map<String, Object> resetDailyThresholds() {
+        return dailyReset.resetStaleCounters();
+    }
+
+    public CursorPage<KCoinLedgerEntry> getKCoinLedger(Long kabadiWalaId, String before, Integer size) {
+        return ledger.history(kabadiWalaId, before, size);
     }
 
-    public List<KabadiWala> getAllKabadis() {
-        return kabadiRepo.findAll();
+    /** Folds the K-coin ledger tail into the balance snapshots now instead of waiting for the timer. */
+    public Map<String, Object> foldKCoinLedger() {
+        return ledger.fold();
     }
 
-    public List<WasteTransaction> getAllTransactions() {
-        return txRepo.findAll();
+    /** Recomputes earnings since {@code from} under the current config; dry run unless {@code apply}. */
+    public Map<String, Object> replayKCoins(LocalDate from, boolean apply) {
+        return ledger.replay(from, apply);
     }
 
     public List<AdminConfig> getAllConfig() {
@@ -48,6 +151,8 @@ public class AdminService {
             .orElse(AdminConfig.builder().configKey(key).build());
         cfg.setConfigValue(value);
         cfg.setUpdatedAt(LocalDateTime.now());
-        return configRepo.save(cfg);
+        AdminConfig saved = configRepo.save(cfg);
+        configCache.refreshAfterCommit();
+        return saved;
     }
 }
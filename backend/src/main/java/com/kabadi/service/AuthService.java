@@ -1,17 +1,22 @@
 package com.kabadi.service;
 
 import com.kabadi.exception.BadRequestException;
+import com.kabadi.exception.TooManyRequestsException;
 import com.kabadi.model.dto.*;
 import com.kabadi.model.entity.*;
 import com.kabadi.repository.*;
 import com.kabadi.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.*;
 
 @Service
@@ -24,82 +29,101 @@ public class AuthService {
     private final AdminRepository adminRepo;
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
+    private final KabadiGeoIndex geoIndex;
+    private final OtpStore otpStore;
+    private final IdAllocator idAllocator;
+    private final MeterRegistry meters;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Value("${app.otp.ttl-seconds:300}")
+    private long otpTtlSeconds;
+
+    @Value("${app.otp.max-attempts:5}")
+    private int otpMaxAttempts;
+
+    @Value("${app.otp.max-sends:5}")
+    private int otpMaxSends;
+
+    @Value("${app.otp.send-window-seconds:900}")
+    private long otpSendWindowSeconds;
+
+    @Value("${app.otp.register-window-seconds:900}")
+    private long registerWindowSeconds;
 
     private String generateOtp() {
-        return String.format("%06d", new Random().nextInt(999999));
+        return String.format("%06d", RANDOM.nextInt(1_000_000));
     }
 
-    @Transactional
+    private static String otpKey(String userType, String mobile) {
+        return userType + ":" + mobile;
+    }
+
+    /** OTP state lives in the {@link OtpStore}; accounts are only read here, never written. */
     public Map<String, Object> sendOtp(SendOtpRequest req) {
         String otp = generateOtp();
-        LocalDateTime expiry = LocalDateTime.now().plusMinutes(5);
+        if (!otpStore.issue(otpKey(req.getUserType(), req.getMobile()), otp, Duration.ofSeconds(otpTtlSeconds),
+                otpMaxSends, Duration.ofSeconds(otpSendWindowSeconds)))
+            throw new TooManyRequestsException("Too many OTP requests. Please try again later.");
         log.info("OTP for {} ({}): {}", req.getMobile(), req.getUserType(), otp); // mock: logged
+        meters.counter("kabadi.otp.sent", "userType", req.getUserType()).increment();
 
-        if ("CITIZEN".equals(req.getUserType())) {
-            User user = userRepo.findByMobile(req.getMobile())
-                .orElse(User.builder().mobile(req.getMobile()).preferredLanguage("en").build());
-            user.setOtpCode(otp);
-            user.setOtpExpiresAt(expiry);
-            userRepo.save(user);
-            boolean isNew = user.getWasteRecyclerId() == null;
-            return Map.of("otpSent", true, "isNewUser", isNew, "mockOtp", otp);
-        } else {
-            KabadiWala kw = kabadiRepo.findByMobile(req.getMobile())
-                .orElse(KabadiWala.builder().mobile(req.getMobile()).preferredLanguage("en").build());
-            kw.setOtpCode(otp);
-            kw.setOtpExpiresAt(expiry);
-            kabadiRepo.save(kw);
-            boolean isNew = kw.getName() == null;
-            return Map.of("otpSent", true, "isNewUser", isNew, "mockOtp", otp);
-        }
+        boolean isNew = "CITIZEN".equals(req.getUserType())
+            ? !userRepo.existsByMobileAndWasteRecyclerIdIsNotNull(req.getMobile())
+            : !kabadiRepo.existsByMobileAndNameIsNotNull(req.getMobile());
+        return Map.of("otpSent", true, "isNewUser", isNew, "mockOtp", otp);
     }
 
-    @Transactional
     public Map<String, Object> verifyOtp(VerifyOtpRequest req) {
+        switch (otpStore.verify(otpKey(req.getUserType(), req.getMobile()), req.getOtp(), otpMaxAttempts,
+                Duration.ofSeconds(registerWindowSeconds))) {
+            case OK -> { }
+            case INVALID -> throw new BadRequestException("Invalid OTP");
+            case EXPIRED -> throw new BadRequestException("OTP expired");
+            case TOO_MANY_ATTEMPTS -> throw new TooManyRequestsException("Too many attempts. Please request a new OTP.");
+            case NOT_FOUND -> throw new BadRequestException("No pending OTP. Please request a new one.");
+        }
+
+        // New accounts get no token yet; the verified mobile may register within the window
+        Map<String, Object> result = new HashMap<>();
+        result.put("userType", req.getUserType());
         if ("CITIZEN".equals(req.getUserType())) {
-            User user = userRepo.findByMobile(req.getMobile())
-                .orElseThrow(() -> new BadRequestException("User not found"));
-            if (!req.getOtp().equals(user.getOtpCode()))
-                throw new BadRequestException("Invalid OTP");
-            if (user.getOtpExpiresAt().isBefore(LocalDateTime.now()))
-                throw new BadRequestException("OTP expired");
-            user.setOtpCode(null);
-            userRepo.save(user);
-            boolean isNew = user.getWasteRecyclerId() == null;
-            String token = isNew ? null : jwtUtil.generateToken(
-                user.getId(), "CITIZEN", user.getName(), user.getPreferredLanguage());
-            return Map.of("isNewUser", isNew, "userId", user.getId(),
-                "token", token != null ? token : "", "userType", "CITIZEN",
-                "name", user.getName() != null ? user.getName() : "");
+            Optional<User> user = userRepo.findByMobile(req.getMobile()).filter(u -> u.getWasteRecyclerId() != null);
+            result.put("isNewUser", user.isEmpty());
+            result.put("token", user.map(u -> jwtUtil.generateToken(
+                u.getId(), "CITIZEN", u.getName(), u.getPreferredLanguage())).orElse(""));
+            result.put("name", user.map(User::getName).orElse(""));
+            user.ifPresent(u -> result.put("userId", u.getId()));
         } else {
-            KabadiWala kw = kabadiRepo.findByMobile(req.getMobile())
-                .orElseThrow(() -> new BadRequestException("Kabadi-wala not found"));
-            if (!req.getOtp().equals(kw.getOtpCode()))
-                throw new BadRequestException("Invalid OTP");
-            if (kw.getOtpExpiresAt().isBefore(LocalDateTime.now()))
-                throw new BadRequestException("OTP expired");
-            kw.setOtpCode(null);
-            kabadiRepo.save(kw);
-            boolean isNew = kw.getName() == null;
-            String token = isNew ? null : jwtUtil.generateToken(
-                kw.getId(), "KABADI", kw.getName(), kw.getPreferredLanguage());
-            return Map.of("isNewUser", isNew, "userId", kw.getId(),
-                "token", token != null ? token : "", "userType", "KABADI",
-                "name", kw.getName() != null ? kw.getName() : "");
+            Optional<KabadiWala> kw = kabadiRepo.findByMobile(req.getMobile()).filter(k -> k.getName() != null);
+            result.put("isNewUser", kw.isEmpty());
+            result.put("token", kw.map(k -> jwtUtil.generateToken(
+                k.getId(), "KABADI", k.getName(), k.getPreferredLanguage())).orElse(""));
+            result.put("name", kw.map(KabadiWala::getName).orElse(""));
+            kw.ifPresent(k -> result.put("userId", k.getId()));
         }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${app.otp.purge-ms:60000}")
+    public void purgeOtps() {
+        int purged = otpStore.purgeExpired(Duration.ofSeconds(otpSendWindowSeconds));
+        if (purged > 0) log.debug("Purged {} OTP entries", purged);
     }
 
     @Transactional
     public Map<String, Object> registerCitizen(CitizenRegisterRequest req) {
+        if (!otpStore.consumeVerified(otpKey("CITIZEN", req.getMobile())))
+            throw new BadRequestException("Mobile not verified. Please verify OTP first.");
         User user = userRepo.findByMobile(req.getMobile())
-            .orElseThrow(() -> new BadRequestException("Mobile not found. Please verify OTP first."));
+            .orElseGet(() -> User.builder().mobile(req.getMobile()).build());
         user.setName(req.getName());
         user.setAddressLine1(req.getAddressLine1());
         user.setAddressLine2(req.getAddressLine2());
         user.setPincode(req.getPincode());
         user.setPreferredLanguage(req.getPreferredLanguage() != null ? req.getPreferredLanguage() : "en");
         if (user.getWasteRecyclerId() == null) {
-            user.setWasteRecyclerId(generateWasteRecyclerId());
+            user.setWasteRecyclerId(idAllocator.nextWasteRecyclerId());
         }
         userRepo.save(user);
         String token = jwtUtil.generateToken(user.getId(), "CITIZEN", user.getName(), user.getPreferredLanguage());
@@ -109,8 +133,10 @@ public class AuthService {
 
     @Transactional
     public Map<String, Object> registerKabadi(KabadiRegisterRequest req) {
+        if (!otpStore.consumeVerified(otpKey("KABADI", req.getMobile())))
+            throw new BadRequestException("Mobile not verified. Please verify OTP first.");
         KabadiWala kw = kabadiRepo.findByMobile(req.getMobile())
-            .orElseThrow(() -> new BadRequestException("Mobile not found. Please verify OTP first."));
+            .orElseGet(() -> KabadiWala.builder().mobile(req.getMobile()).build());
         kw.setName(req.getName());
         kw.setArea(req.getArea());
         kw.setAddressLine1(req.getAddressLine1());
@@ -118,6 +144,7 @@ public class AuthService {
         kw.setPincode(req.getPincode());
         kw.setPreferredLanguage(req.getPreferredLanguage() != null ? req.getPreferredLanguage() : "en");
         kabadiRepo.save(kw);
+        geoIndex.upsert(kw);
         String token = jwtUtil.generateToken(kw.getId(), "KABADI", kw.getName(), kw.getPreferredLanguage());
         return Map.of("token", token, "userId", kw.getId(), "name", kw.getName(), "userType", "KABADI");
     }
@@ -130,9 +157,4 @@ public class AuthService {
         String token = jwtUtil.generateToken(admin.getId(), "ADMIN", admin.getUsername(), "en");
         return Map.of("token", token, "userType", "ADMIN", "name", admin.getUsername());
     }
-
-    private String generateWasteRecyclerId() {
-        int year = java.time.Year.now().getValue();
-        return "WR-" + year + "-" + String.format("%05d", new Random().nextInt(99999) + 1);
-    }
 }
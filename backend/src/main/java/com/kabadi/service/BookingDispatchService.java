@@ -0,0 +1,83 @@
+package com.kabadi.service;
+
+import com.kabadi.repository.BookingRepository;
+import com.kabadi.repository.OpenBookingView;
+import com.kabadi.repository.VendorLoadView;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns unassigned PENDING bookings to nearby active kabadi-walas in batches. Matching runs
+ * against the in-memory geo index; the database is read once for the batch and the vendors'
+ * current load, and written once for all assignments.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingDispatchService {
+
+    private final BookingRepository bookingRepo;
+    private final KabadiGeoIndex geoIndex;
+    private final MeterRegistry meters;
+
+    @Value("${app.dispatch.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.dispatch.radius-km:5}")
+    private double radiusKm;
+
+    @Value("${app.dispatch.priority-bonus-km:1.0}")
+    private double priorityBonusKm;
+
+    @Value("${app.dispatch.vendor-capacity:5}")
+    private int vendorCapacity;
+
+    // Where the next batch starts; wraps once the tail is reached so bookings nobody can take are retried
+    private volatile long cursor = 0;
+
+    /** One pass; returns the number of bookings assigned. Skipped while another node holds the pass. */
+    @Transactional
+    public int dispatch() {
+        if (!geoIndex.isReady() || !bookingRepo.tryLockDispatch()) return 0;
+        List<OpenBookingView> open = bookingRepo.findUndispatched(cursor, batchSize);
+        cursor = open.size() < batchSize ? 0 : open.get(open.size() - 1).getId();
+        if (open.isEmpty()) return 0;
+
+        Map<Long, Integer> load = new HashMap<>();
+        for (VendorLoadView v : bookingRepo.countOpenByVendor()) {
+            load.put(v.getKabadiWalaId(), v.getOpenBookings());
+        }
+        List<BookingMatcher.OpenBooking> batch = open.stream()
+            .map(b -> new BookingMatcher.OpenBooking(b.getId(), b.getLatitude(), b.getLongitude()))
+            .toList();
+
+        long start = System.nanoTime();
+        List<BookingMatcher.Assignment> assignments =
+            new BookingMatcher(geoIndex, radiusKm, priorityBonusKm, vendorCapacity).match(batch, load);
+        double matchMs = (System.nanoTime() - start) / 1e6;
+        if (assignments.isEmpty()) {
+            log.debug("No vendor available for {} open bookings", open.size());
+            return 0;
+        }
+
+        Long[] ids = new Long[assignments.size()];
+        Long[] kabadiWalaIds = new Long[assignments.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = assignments.get(i).bookingId();
+            kabadiWalaIds[i] = assignments.get(i).kabadiWalaId();
+        }
+        int assigned = bookingRepo.assign(ids, kabadiWalaIds).size();
+        meters.counter("kabadi.bookings.dispatched").increment(assigned);
+        log.info("Dispatched {} of {} open bookings (matching took {} ms)", assigned, open.size(),
+            String.format("%.1f", matchMs));
+        return assigned;
+    }
+}
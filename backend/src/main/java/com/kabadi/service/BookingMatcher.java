@@ -0,0 +1,70 @@
+package com.kabadi.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One dispatch pass over a batch of open bookings, in memory. Bookings are served oldest first;
+ * each goes to the vendor with the lowest cost that still has capacity, where cost is the
+ * distance minus {@code priorityBonusKm} for vendors with live priority. The geo index is
+ * scanned outwards from the pickup point only until nothing further out can win.
+ */
+final class BookingMatcher {
+
+    record OpenBooking(long id, double latitude, double longitude) {}
+
+    record Assignment(long bookingId, long kabadiWalaId, double distanceKm) {}
+
+    private final KabadiGeoIndex index;
+    private final double radiusKm;
+    private final double priorityBonusKm;
+    private final int capacity;
+
+    BookingMatcher(KabadiGeoIndex index, double radiusKm, double priorityBonusKm, int capacity) {
+        this.index = index;
+        this.radiusKm = radiusKm;
+        this.priorityBonusKm = priorityBonusKm;
+        this.capacity = capacity;
+    }
+
+    /** {@code load} holds each vendor's open bookings and is updated with the assignments made. */
+    List<Assignment> match(List<OpenBooking> bookings, Map<Long, Integer> load) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Assignment> assignments = new ArrayList<>();
+        Best best = new Best();
+        for (OpenBooking b : bookings) {
+            best.reset();
+            index.scanOutward(b.latitude(), b.longitude(), radiusKm, (e, d) -> {
+                if (load.getOrDefault(e.id(), 0) < capacity) {
+                    double cost = e.isPriority(now) ? d - priorityBonusKm : d;
+                    // Ties go to the lower id so a pass doesn't depend on the index's iteration order
+                    if (cost < best.cost || (cost == best.cost && e.id() < best.id)) best.set(e.id(), cost, d);
+                }
+                // Even a priority vendor beyond this distance would cost more than the best so far
+                return best.cost + priorityBonusKm;
+            });
+            if (best.id == Long.MAX_VALUE) continue;
+            load.merge(best.id, 1, Integer::sum);
+            assignments.add(new Assignment(b.id(), best.id, best.distanceKm));
+        }
+        return assignments;
+    }
+
+    private static final class Best {
+        long id;
+        double cost;
+        double distanceKm;
+
+        void reset() {
+            set(Long.MAX_VALUE, Double.POSITIVE_INFINITY, 0);
+        }
+
+        void set(long id, double cost, double distanceKm) {
+            this.id = id;
+            this.cost = cost;
+            this.distanceKm = distanceKm;
+        }
+    }
+}
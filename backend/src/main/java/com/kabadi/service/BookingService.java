@@ -5,7 +5,9 @@ import com.kabadi.exception.ResourceNotFoundException;
 import com.kabadi.model.dto.BookingRequest;
 import com.kabadi.model.dto.BookingUpdateRequest;
 import com.kabadi.model.entity.*;
+import com.kabadi.model.response.BookingResponse;
 import com.kabadi.repository.*;
+import com.kabadi.util.GeoUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,7 +23,7 @@ public class BookingService {
     private final KabadiWalaRepository kabadiRepo;
 
     @Transactional
-    public Booking createBooking(BookingRequest req) {
+    public BookingResponse createBooking(BookingRequest req) {
         User user = userRepo.findById(req.getUserId())
             .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
@@ -35,6 +37,10 @@ public class BookingService {
             ).trim();
         }
 
+        if ((req.getLatitude() == null) != (req.getLongitude() == null)
+                || (req.getLatitude() != null && !GeoUtils.isValidCoordinate(req.getLatitude(), req.getLongitude())))
+            throw new BadRequestException("Invalid pickup coordinates");
+
         KabadiWala kabadiWala = (req.getKabadiWalaId() != null)
             ? kabadiRepo.findById(req.getKabadiWalaId()).orElse(null)
             : null;
@@ -50,36 +56,36 @@ public class BookingService {
             .materialType(req.getMaterialType())
             .expectedWeightKg(req.getExpectedWeightKg())
             .build();
-        return bookingRepo.save(booking);
+        return BookingResponse.of(bookingRepo.save(booking));
     }
 
-    public List<Booking> getCitizenBookings(Long userId) {
-        return bookingRepo.findByUserIdOrderByCreatedAtDesc(userId);
+    public List<BookingResponse> getCitizenBookings(Long userId) {
+        return bookingRepo.findUserBookings(userId);
     }
 
-    public List<Booking> getKabadiBookings(Long kabadiId) {
-        return bookingRepo.findByKabadiWalaIdOrderByCreatedAtDesc(kabadiId);
+    public List<BookingResponse> getKabadiBookings(Long kabadiId) {
+        return bookingRepo.findKabadiBookings(kabadiId);
     }
 
     @Transactional
-    public Booking updateBooking(Long bookingId, BookingUpdateRequest req) {
-        Booking booking = bookingRepo.findById(bookingId)
+    public BookingResponse updateBooking(Long bookingId, BookingUpdateRequest req) {
+        Booking booking = bookingRepo.findWithPartiesById(bookingId)
             .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
         if (!"PENDING".equals(booking.getStatus()))
             throw new BadRequestException("Only PENDING bookings can be edited");
         if (req.getMaterialType() != null) booking.setMaterialType(req.getMaterialType());
         if (req.getExpectedWeightKg() != null) booking.setExpectedWeightKg(req.getExpectedWeightKg());
-        return bookingRepo.save(booking);
+        return BookingResponse.of(bookingRepo.save(booking));
     }
 
     @Transactional
-    public Booking updateStatus(Long bookingId, String status) {
-        Booking booking = bookingRepo.findById(bookingId)
+    public BookingResponse updateStatus(Long bookingId, String status) {
+        Booking booking = bookingRepo.findWithPartiesById(bookingId)
             .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
         if (!List.of("PENDING", "COMPLETED", "CANCELLED").contains(status))
             throw new BadRequestException("Invalid status: " + status);
         booking.setStatus(status);
-        return bookingRepo.save(booking);
+        return BookingResponse.of(bookingRepo.save(booking));
     }
 
     @Transactional
@@ -3,6 +3,7 @@ package com.kabadi.service;
 import com.kabadi.exception.ResourceNotFoundException;
 import com.kabadi.model.entity.*;
 import com.kabadi.repository.*;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,7 +16,7 @@ import java.util.*;
 public class CitizenService {
 
     private final UserRepository userRepo;
-    private final WasteTransactionRepository txRepo;
+    private final CitizenStatsService statsService;
 
     public User getProfile(Long userId) {
         return userRepo.findById(userId)
@@ -33,18 +34,13 @@ public class CitizenService {
         return userRepo.save(user);
     }
 
+    @Timed(value = "kabadi.dashboard", extraTags = {"role", "CITIZEN"})
     public Map<String, Object> getDashboard(Long userId, String filter) {
-        List<WasteTransaction> txs = txRepo.findByUserIdOrderByTransactionTimeDesc(userId);
-        BigDecimal totalEarnings = txs.stream()
-            .map(t -> t.getAmountPaid() != null ? t.getAmountPaid() : BigDecimal.ZERO)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalWaste = txs.stream()
-            .map(WasteTransaction::getWeightKg)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Optional<CitizenStats> stats = statsService.forFilter(userId, filter);
         return Map.of(
-            "totalEarnings", totalEarnings,
-            "totalWasteSoldKg", totalWaste,
-            "transactionCount", txs.size()
+            "totalEarnings", stats.map(CitizenStats::getTotalEarnings).orElse(BigDecimal.ZERO),
+            "totalWasteSoldKg", stats.map(CitizenStats::getTotalWeightKg).orElse(BigDecimal.ZERO),
+            "transactionCount", stats.map(CitizenStats::getTransactionCount).orElse(0L)
         );
     }
 
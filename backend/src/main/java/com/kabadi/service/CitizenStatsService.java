@@ -0,0 +1,48 @@
+package com.kabadi.service;
+
+import com.kabadi.model.entity.CitizenStats;
+import com.kabadi.repository.CitizenStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/** Per-citizen earnings/weight/count rolled up by lifetime, year, month and day. */
+@Service
+@RequiredArgsConstructor
+public class CitizenStatsService {
+
+    static final LocalDate LIFETIME_START = LocalDate.of(1970, 1, 1);
+
+    private final CitizenStatsRepository statsRepo;
+
+    @Transactional
+    public void record(Long userId, LocalDateTime time, BigDecimal earnings, BigDecimal weightKg, long txCount) {
+        LocalDate day = time.toLocalDate();
+        statsRepo.addToPeriods(userId, day.withDayOfYear(1), day.withDayOfMonth(1), day,
+            earnings != null ? earnings : BigDecimal.ZERO, weightKg, txCount);
+    }
+
+    /** Stats for the period selected by a dashboard filter (daily | monthly | yearly, otherwise lifetime). */
+    public Optional<CitizenStats> forFilter(Long userId, String filter) {
+        LocalDate today = LocalDate.now();
+        String f = filter == null ? "" : filter.toLowerCase();
+        return switch (f) {
+            case "daily"   -> statsRepo.findByUserIdAndPeriodTypeAndPeriodStart(userId, "DAY", today);
+            case "monthly" -> statsRepo.findByUserIdAndPeriodTypeAndPeriodStart(userId, "MONTH", today.withDayOfMonth(1));
+            case "yearly"  -> statsRepo.findByUserIdAndPeriodTypeAndPeriodStart(userId, "YEAR", today.withDayOfYear(1));
+            default        -> statsRepo.findByUserIdAndPeriodTypeAndPeriodStart(userId, "LIFETIME", LIFETIME_START);
+        };
+    }
+
+    /** Rebuilds every row from waste_transactions (backfill / repair). */
+    @Transactional
+    public int rebuildAll() {
+        statsRepo.deleteAllRows();
+        return statsRepo.insertFromTransactions();
+    }
+}
@@ -0,0 +1,42 @@
+package com.kabadi.service;
+
+import com.kabadi.repository.KabadiWalaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Resets the per-day K-coin counters on kabadi_walas.
+ * Readers already treat counters from a previous day as zero (see {@code KabadiWala#dailyCollectedKgOn}),
+ * so this is only housekeeping: one bulk UPDATE per id range, each in its own short transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DailyResetService {
+
+    private static final long CHUNK_SIZE = 10_000;
+
+    private final KabadiWalaRepository kabadiRepo;
+
+    public Map<String, Object> resetStaleCounters() {
+        long start = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        Long minId = kabadiRepo.findMinId();
+        Long maxId = kabadiRepo.findMaxId();
+        int rows = 0;
+        int chunks = 0;
+        if (minId != null) {
+            for (long from = minId; from <= maxId; from += CHUNK_SIZE) {
+                rows += kabadiRepo.resetDailyCounters(today, from, Math.min(from + CHUNK_SIZE - 1, maxId));
+                chunks++;
+            }
+        }
+        long duration = System.currentTimeMillis() - start;
+        log.info("Daily threshold reset touched {} kabadi-walas in {} chunks, {} ms", rows, chunks, duration);
+        return Map.of("rowsUpdated", rows, "chunks", chunks, "durationMs", duration);
+    }
+}
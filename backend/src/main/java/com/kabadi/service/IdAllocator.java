@@ -0,0 +1,88 @@
+package com.kabadi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Year;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * Hands out unique, increasing numbers per scope. Each node reserves a block from
+ * {@code id_allocations} and serves it from memory; numbers left in a block when the node
+ * stops are skipped, never reused.
+ */
+@Service
+@Slf4j
+public class IdAllocator {
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate reserveTx;
+
+    @Value("${app.ids.block-size:50}")
+    private int blockSize;
+
+    private record Block(long next, long end) {}
+
+    private final Map<String, Block> blocks = new HashMap<>();
+    // Not synchronized: a reservation is a DB round-trip, and a monitor would pin virtual threads through it
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public IdAllocator(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager txManager) {
+        this.jdbc = jdbc;
+        // Reservations commit on their own: a caller rolling back must not hand the block out twice
+        this.reserveTx = new TransactionTemplate(txManager);
+        this.reserveTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** {@code WR-<year>-<n>}, n zero-padded to 5 digits and widening past 99999. */
+    public String nextWasteRecyclerId() {
+        String scope = wasteRecyclerScope();
+        return wasteRecyclerId(scope, next(scope));
+    }
+
+    /** {@code count} consecutive waste recycler ids in a single reservation, for bulk loads; index 0..count-1. */
+    public LongFunction<String> reserveWasteRecyclerIds(long count) {
+        String scope = wasteRecyclerScope();
+        long first = reserve(scope, count).next();
+        return i -> wasteRecyclerId(scope, first + i);
+    }
+
+    public long next(String scope) {
+        lock.lock();
+        try {
+            Block b = blocks.get(scope);
+            if (b == null || b.next() >= b.end()) b = reserve(scope, blockSize);
+            blocks.put(scope, new Block(b.next() + 1, b.end()));
+            return b.next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Block reserve(String scope, long size) {
+        Long end = reserveTx.execute(status -> jdbc.queryForObject("""
+            INSERT INTO id_allocations (scope, next_value) VALUES (:scope, 1 + :size)
+            ON CONFLICT (scope) DO UPDATE SET next_value = id_allocations.next_value + :size
+            RETURNING next_value
+            """, new MapSqlParameterSource("scope", scope).addValue("size", size), Long.class));
+        log.debug("Reserved ids [{}, {}) for {}", end - size, end, scope);
+        return new Block(end - size, end);
+    }
+
+    private static String wasteRecyclerScope() {
+        return "WR-" + Year.now().getValue();
+    }
+
+    private static String wasteRecyclerId(String scope, long n) {
+        return scope + "-" + String.format("%05d", n);
+    }
+}
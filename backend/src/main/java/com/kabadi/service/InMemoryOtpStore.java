@@ -0,0 +1,80 @@
+package com.kabadi.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Single-node OTP store; entries are updated with {@link Map#compute} so each key changes atomically. */
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    private record Entry(String code, LocalDateTime expiresAt, int attempts,
+                         LocalDateTime windowStart, int sends, LocalDateTime verifiedUntil) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean issue(String key, String code, Duration ttl, int maxSends, Duration window) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean[] issued = {false};
+        entries.compute(key, (k, e) -> {
+            boolean newWindow = e == null || !e.windowStart().plus(window).isAfter(now);
+            if (!newWindow && e.sends() >= maxSends) return e;
+            issued[0] = true;
+            return new Entry(code, now.plus(ttl), 0,
+                newWindow ? now : e.windowStart(), newWindow ? 1 : e.sends() + 1, null);
+        });
+        return issued[0];
+    }
+
+    @Override
+    public Verification verify(String key, String code, int maxAttempts, Duration verifiedTtl) {
+        LocalDateTime now = LocalDateTime.now();
+        Verification[] result = {Verification.NOT_FOUND};
+        entries.computeIfPresent(key, (k, e) -> {
+            if (e.code() == null) return e;
+            if (e.attempts() >= maxAttempts) {
+                result[0] = Verification.TOO_MANY_ATTEMPTS;
+                return e;
+            }
+            if (!e.expiresAt().isAfter(now)) {
+                result[0] = Verification.EXPIRED;
+                return e;
+            }
+            if (!e.code().equals(code)) {
+                result[0] = Verification.INVALID;
+                return new Entry(e.code(), e.expiresAt(), e.attempts() + 1, e.windowStart(), e.sends(), e.verifiedUntil());
+            }
+            result[0] = Verification.OK;
+            return new Entry(null, e.expiresAt(), e.attempts() + 1, e.windowStart(), e.sends(), now.plus(verifiedTtl));
+        });
+        return result[0];
+    }
+
+    @Override
+    public boolean consumeVerified(String key) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean[] ok = {false};
+        entries.computeIfPresent(key, (k, e) -> {
+            if (e.verifiedUntil() == null || !e.verifiedUntil().isAfter(now)) return e;
+            ok[0] = true;
+            return new Entry(e.code(), e.expiresAt(), e.attempts(), e.windowStart(), e.sends(), null);
+        });
+        return ok[0];
+    }
+
+    @Override
+    public int purgeExpired(Duration window) {
+        LocalDateTime now = LocalDateTime.now();
+        int before = entries.size();
+        entries.values().removeIf(e -> !e.expiresAt().isAfter(now)
+            && !e.windowStart().plus(window).isAfter(now)
+            && (e.verifiedUntil() == null || !e.verifiedUntil().isAfter(now)));
+        return before - entries.size();
+    }
+}
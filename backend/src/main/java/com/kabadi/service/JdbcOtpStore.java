@@ -0,0 +1,83 @@
+package com.kabadi.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** OTP store shared by all nodes, backed by the {@code otp_challenges} table. */
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "jdbc")
+@RequiredArgsConstructor
+public class JdbcOtpStore implements OtpStore {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    private record Row(String code, LocalDateTime expiresAt, int attempts) {}
+
+    // The WHERE on the conflict branch skips the update once the window's quota is used up
+    @Override
+    public boolean issue(String key, String code, Duration ttl, int maxSends, Duration window) {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbc.update("""
+            INSERT INTO otp_challenges (otp_key, code, expires_at, attempts, window_start, sends, verified_until)
+            VALUES (:key, :code, :expiresAt, 0, :now, 1, NULL)
+            ON CONFLICT (otp_key) DO UPDATE SET
+                code = EXCLUDED.code,
+                expires_at = EXCLUDED.expires_at,
+                attempts = 0,
+                verified_until = NULL,
+                window_start = CASE WHEN otp_challenges.window_start <= :windowFloor
+                                    THEN :now ELSE otp_challenges.window_start END,
+                sends = CASE WHEN otp_challenges.window_start <= :windowFloor
+                             THEN 1 ELSE otp_challenges.sends + 1 END
+            WHERE otp_challenges.window_start <= :windowFloor OR otp_challenges.sends < :maxSends
+            """, new MapSqlParameterSource()
+                .addValue("key", key).addValue("code", code)
+                .addValue("expiresAt", now.plus(ttl)).addValue("now", now)
+                .addValue("windowFloor", now.minus(window)).addValue("maxSends", maxSends)) == 1;
+    }
+
+    @Override
+    @Transactional
+    public Verification verify(String key, String code, int maxAttempts, Duration verifiedTtl) {
+        LocalDateTime now = LocalDateTime.now();
+        MapSqlParameterSource params = new MapSqlParameterSource("key", key);
+        List<Row> rows = jdbc.query(
+            "SELECT code, expires_at, attempts FROM otp_challenges WHERE otp_key = :key FOR UPDATE", params,
+            (rs, i) -> new Row(rs.getString("code"), rs.getTimestamp("expires_at").toLocalDateTime(), rs.getInt("attempts")));
+        if (rows.isEmpty() || rows.get(0).code() == null) return Verification.NOT_FOUND;
+        Row row = rows.get(0);
+        if (row.attempts() >= maxAttempts) return Verification.TOO_MANY_ATTEMPTS;
+        if (!row.expiresAt().isAfter(now)) return Verification.EXPIRED;
+
+        boolean match = row.code().equals(code);
+        jdbc.update(match
+                ? "UPDATE otp_challenges SET attempts = attempts + 1, code = NULL, verified_until = :until WHERE otp_key = :key"
+                : "UPDATE otp_challenges SET attempts = attempts + 1 WHERE otp_key = :key",
+            params.addValue("until", now.plus(verifiedTtl)));
+        return match ? Verification.OK : Verification.INVALID;
+    }
+
+    @Override
+    public boolean consumeVerified(String key) {
+        return jdbc.update("UPDATE otp_challenges SET verified_until = NULL WHERE otp_key = :key AND verified_until > :now",
+            new MapSqlParameterSource("key", key).addValue("now", LocalDateTime.now())) == 1;
+    }
+
+    @Override
+    public int purgeExpired(Duration window) {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbc.update("""
+            DELETE FROM otp_challenges
+            WHERE expires_at <= :now AND window_start <= :windowFloor
+              AND (verified_until IS NULL OR verified_until <= :now)
+            """, new MapSqlParameterSource("now", now).addValue("windowFloor", now.minus(window)));
+    }
+}
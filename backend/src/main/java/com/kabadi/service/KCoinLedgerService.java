@@ -0,0 +1,148 @@
+package com.kabadi.service;
+
+import com.kabadi.exception.BadRequestException;
+import com.kabadi.model.entity.KCoinLedgerEntry;
+import com.kabadi.model.response.CursorPage;
+import com.kabadi.repository.KCoinLedgerRepository;
+import com.kabadi.repository.KCoinReplayView;
+import com.kabadi.util.CursorCodec;
+import com.kabadi.util.TransactionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Append-only K-coin ledger. Earnings and spends are inserts; the balance is the folded snapshot on
+ * kabadi_walas plus the short unfolded tail, and a periodic fold keeps that tail small.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KCoinLedgerService {
+
+    public static final String EARN = "EARN";
+    public static final String SPEND = "SPEND";
+    public static final String ADJUST = "ADJUST";
+    public static final String REASON_REPLAY = "REPLAY";
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final KCoinLedgerRepository ledgerRepo;
+    private final AdminConfigCache configCache;
+    private final MeterRegistry meters;
+
+    // Fixed once the ledger exists; null means it has not started yet
+    private volatile LocalDate ledgerStart;
+
+    public void earn(Long kabadiWalaId, int coins, Long transactionId, LocalDate day) {
+        if (coins == 0) return;
+        ledgerRepo.save(KCoinLedgerEntry.builder()
+            .kabadiWalaId(kabadiWalaId).entryType(EARN).amount(coins)
+            .transactionId(transactionId).businessDate(day)
+            .build());
+        TransactionUtils.afterCommit(() -> meters.counter("kabadi.kcoins.earned").increment(coins));
+    }
+
+    public void spend(Long kabadiWalaId, int coins, Long redemptionId) {
+        ledgerRepo.save(KCoinLedgerEntry.builder()
+            .kabadiWalaId(kabadiWalaId).entryType(SPEND).amount(-coins)
+            .redemptionId(redemptionId).businessDate(LocalDate.now())
+            .build());
+        TransactionUtils.afterCommit(() -> meters.counter("kabadi.kcoins.redeemed").increment(coins));
+    }
+
+    public void adjust(Long kabadiWalaId, int coins, String reason) {
+        ledgerRepo.save(KCoinLedgerEntry.builder()
+            .kabadiWalaId(kabadiWalaId).entryType(ADJUST).amount(coins)
+            .businessDate(LocalDate.now()).reason(reason)
+            .build());
+    }
+
+    public int balanceOf(Long kabadiWalaId) {
+        Integer balance = ledgerRepo.balanceOf(kabadiWalaId);
+        return balance == null ? 0 : balance;
+    }
+
+    /** Newest-first ledger page for auditing; {@code before} is the cursor from the previous page. */
+    public CursorPage<KCoinLedgerEntry> history(Long kabadiWalaId, String before, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long beforeId = Long.MAX_VALUE;
+        if (before != null && !before.isBlank()) {
+            try {
+                beforeId = Long.parseLong(CursorCodec.decode(before, 1)[0]);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+        List<KCoinLedgerEntry> rows = ledgerRepo.findByKabadiWalaIdAndIdLessThanOrderByIdDesc(
+            kabadiWalaId, beforeId, Limit.of(pageSize + 1));
+        if (rows.size() <= pageSize) return CursorPage.of(rows, null);
+        rows = rows.subList(0, pageSize);
+        return CursorPage.of(rows, CursorCodec.encode(rows.get(pageSize - 1).getId()));
+    }
+
+    @Scheduled(initialDelayString = "${app.kcoin.ledger.fold-ms:60000}",
+               fixedDelayString = "${app.kcoin.ledger.fold-ms:60000}")
+    public void scheduledFold() {
+        fold();
+    }
+
+    /** Rolls the unfolded tail into the per-vendor snapshots. */
+    public Map<String, Object> fold() {
+        long start = System.currentTimeMillis();
+        int vendors = ledgerRepo.foldAll();
+        long duration = System.currentTimeMillis() - start;
+        if (vendors > 0) log.debug("Folded K-coin ledger into {} balances in {} ms", vendors, duration);
+        return Map.of("vendorsUpdated", vendors, "durationMs", duration);
+    }
+
+    /**
+     * Re-derives daily earnings since {@code from} under the current config and, when {@code apply}
+     * is set, posts one REPLAY adjustment per vendor-day that differs. Re-running is a no-op.
+     * Days up to the ledger rollout are refused: their coins sit in the opening balances, not in
+     * EARN rows, and would be credited a second time.
+     */
+    @Transactional
+    public Map<String, Object> replay(LocalDate from, boolean apply) {
+        LocalDate earliest = earliestReplayDate();
+        if (earliest != null && from.isBefore(earliest))
+            throw new BadRequestException("K-coin replay can start no earlier than " + earliest
+                + "; earlier earnings are part of the opening balances");
+        List<KCoinReplayView> diffs = ledgerRepo.findReplayDiffs(from.atStartOfDay(),
+            configCache.dailyUnlockThresholdKg(), configCache.kcoinsPerExtraKg());
+        List<Map<String, Object>> rows = new ArrayList<>();
+        int net = 0;
+        for (KCoinReplayView d : diffs) {
+            int delta = d.getExpected() - d.getRecorded();
+            net += delta;
+            rows.add(Map.of("kabadiWalaId", d.getKabadiWalaId(), "day", d.getDay(),
+                "expected", d.getExpected(), "recorded", d.getRecorded(), "delta", delta));
+            if (apply) {
+                ledgerRepo.save(KCoinLedgerEntry.builder()
+                    .kabadiWalaId(d.getKabadiWalaId()).entryType(ADJUST).amount(delta)
+                    .businessDate(d.getDay()).reason(REASON_REPLAY)
+                    .build());
+            }
+        }
+        if (apply && !diffs.isEmpty()) log.info("K-coin replay from {} posted {} adjustments, net {}", from, diffs.size(), net);
+        Map<String, Object> result = new HashMap<>();
+        result.put("from", from);
+        result.put("applied", apply);
+        result.put("netCoins", net);
+        result.put("diffs", rows);
+        return result;
+    }
+
+    private LocalDate earliestReplayDate() {
+        if (ledgerStart == null) ledgerStart = ledgerRepo.findLedgerStartDate();
+        return ledgerStart == null ? null : ledgerStart.plusDays(1);
+    }
+}
@@ -0,0 +1,290 @@
+package com.kabadi.service;
+
+import com.kabadi.model.entity.KabadiWala;
+import com.kabadi.repository.KabadiWalaRepository;
+import com.kabadi.util.GeoUtils;
+import com.kabadi.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory grid index over active, located kabadi-walas.
+ * Radius queries only visit the cells overlapping the search box, so cost depends on
+ * local density rather than on the total number of vendors.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KabadiGeoIndex {
+
+    /** Cell edge in degrees (~1.1 km of latitude). */
+    private static final double CELL_DEG = 0.01;
+
+    private final KabadiWalaRepository kabadiRepo;
+
+    @Value("${app.geo.index.enabled:true}")
+    private boolean enabled;
+
+    private volatile Grid grid = new Grid();
+    private volatile boolean ready = false;
+
+    private record Change(Long id, Entry entry) {}
+
+    // Serialises rebuilds; a lock rather than a monitor because the table read happens while it is held
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Upserts applied while a rebuild reads the table, replayed onto the new grid before it goes live (guarded by this)
+    private List<Change> changesDuringRebuild;
+
+    public record Entry(Long id, String name, String area, double latitude, double longitude,
+                        boolean priorityActive, LocalDateTime priorityExpiresAt) {
+
+        static Entry of(KabadiWala kw) {
+            return new Entry(kw.getId(), kw.getName(), kw.getArea(), kw.getLatitude(), kw.getLongitude(),
+                Boolean.TRUE.equals(kw.getPriorityActive()), kw.getPriorityExpiresAt());
+        }
+
+        public boolean isPriority(LocalDateTime now) {
+            return priorityActive && priorityExpiresAt != null && priorityExpiresAt.isAfter(now);
+        }
+    }
+
+    public record Hit(Entry entry, double distanceKm) {}
+
+    /** False while loading or when disabled; callers then use the bounding-box SQL queries. */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public int size() {
+        return grid.byId.size();
+    }
+
+    /** Loads the index once startup (including DataSeeder) has finished. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    /** Periodic full rebuild; also heals drift from writes made by other nodes. */
+    @Scheduled(initialDelayString = "${app.geo.index.refresh-ms:300000}",
+               fixedDelayString = "${app.geo.index.refresh-ms:300000}")
+    public void rebuild() {
+        if (!enabled) return;
+        rebuildLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            Grid fresh = new Grid();
+            try {
+                for (KabadiWala kw : kabadiRepo.findAllActiveWithLocation()) {
+                    fresh.put(Entry.of(kw));
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+                throw e;
+            }
+            int replayed;
+            synchronized (this) {
+                replayed = changesDuringRebuild.size();
+                for (Change c : changesDuringRebuild) fresh.apply(c);
+                changesDuringRebuild = null;
+                grid = fresh;
+                ready = true;
+            }
+            log.info("Geo index rebuilt with {} kabadi-walas in {} ms ({} concurrent updates replayed)",
+                fresh.byId.size(), System.currentTimeMillis() - start, replayed);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /** Reflects the entity's current name/location/active/priority state once the surrounding transaction commits. */
+    public void upsert(KabadiWala kw) {
+        Long id = kw.getId();
+        Entry entry = Boolean.TRUE.equals(kw.getIsActive()) && kw.getLatitude() != null && kw.getLongitude() != null
+            ? Entry.of(kw) : null;
+        Change change = new Change(id, entry);
+        TransactionUtils.afterCommit(() -> {
+            synchronized (this) {
+                grid.apply(change);
+                if (changesDuringRebuild != null) changesDuringRebuild.add(change);
+            }
+        });
+    }
+
+    /** All indexed vendors within {@code radiusKm}, nearest first. */
+    public List<Hit> withinRadius(double lat, double lng, double radiusKm, boolean priorityOnly) {
+        if (!GeoUtils.isValidCoordinate(lat, lng)) return List.of();
+        radiusKm = GeoUtils.clampRadius(radiusKm);
+        Grid g = grid;
+        LocalDateTime now = LocalDateTime.now();
+        double dLat = GeoUtils.latDelta(radiusKm);
+        double dLng = GeoUtils.lngDelta(radiusKm, lat);
+        int minLat = cellIndex(lat - dLat), maxLat = cellIndex(lat + dLat);
+        int minLng = cellIndex(lng - dLng), maxLng = cellIndex(lng + dLng);
+
+        List<Hit> hits = new ArrayList<>();
+        for (int i = minLat; i <= maxLat; i++) {
+            for (int j = minLng; j <= maxLng; j++) {
+                Map<Long, Entry> cell = g.cells.get(cellKey(i, j));
+                if (cell == null) continue;
+                for (Entry e : cell.values()) {
+                    if (priorityOnly && !e.isPriority(now)) continue;
+                    double d = GeoUtils.haversineKm(lat, lng, e.latitude(), e.longitude());
+                    if (d <= radiusKm) hits.add(new Hit(e, d));
+                }
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparing(h -> h.entry().id()));
+        return hits;
+    }
+
+    /**
+     * Up to {@code limit} vendors within {@code radiusKm} ordered by (distance, id), strictly after
+     * the given keyset position. Cells are visited in rings around the query point and a hit is
+     * emitted only once no unvisited cell can hold anything closer, so dense areas stop early.
+     */
+    public List<Hit> nearest(double lat, double lng, double radiusKm, int limit,
+                             double afterDistanceKm, long afterId, boolean priorityOnly) {
+        if (!GeoUtils.isValidCoordinate(lat, lng)) return List.of();
+        radiusKm = GeoUtils.clampRadius(radiusKm);
+        Grid g = grid;
+        LocalDateTime now = LocalDateTime.now();
+        Comparator<Hit> order = Comparator.comparingDouble(Hit::distanceKm).thenComparing(h -> h.entry().id());
+        PriorityQueue<Hit> pending = new PriorityQueue<>(order);
+        List<Hit> result = new ArrayList<>(limit);
+
+        int ci = cellIndex(lat), cj = cellIndex(lng);
+        int maxRing = (int) Math.ceil(Math.max(GeoUtils.latDelta(radiusKm), GeoUtils.lngDelta(radiusKm, lat)) / CELL_DEG) + 1;
+        // Rows past the latitude window never hold hits; near the poles the ring count is driven by longitude
+        int minLat = cellIndex(lat - GeoUtils.latDelta(radiusKm)), maxLat = cellIndex(lat + GeoUtils.latDelta(radiusKm));
+
+        for (int r = 0; r <= maxRing && result.size() < limit; r++) {
+            for (int i = Math.max(ci - r, minLat); i <= Math.min(ci + r, maxLat); i++) {
+                // Interior rows of the ring only contribute their two edge cells
+                int step = (i == ci - r || i == ci + r) ? 1 : Math.max(2 * r, 1);
+                for (int j = cj - r; j <= cj + r; j += step) {
+                    Map<Long, Entry> cell = g.cells.get(cellKey(i, j));
+                    if (cell == null) continue;
+                    for (Entry e : cell.values()) {
+                        if (priorityOnly && !e.isPriority(now)) continue;
+                        double d = GeoUtils.haversineKm(lat, lng, e.latitude(), e.longitude());
+                        if (d > radiusKm) continue;
+                        if (d < afterDistanceKm || (d == afterDistanceKm && e.id() <= afterId)) continue;
+                        pending.add(new Hit(e, d));
+                    }
+                }
+            }
+            double covered = coveredKm(lat, lng, ci, cj, r);
+            while (!pending.isEmpty() && result.size() < limit
+                    && (pending.peek().distanceKm() <= covered || covered >= radiusKm)) {
+                result.add(pending.poll());
+            }
+        }
+        while (!pending.isEmpty() && result.size() < limit) {
+            result.add(pending.poll());
+        }
+        return result;
+    }
+
+    /** Sees every vendor {@link #scanOutward} reaches; answers with the distance beyond which it no longer cares. */
+    @FunctionalInterface
+    public interface Visitor {
+        double visit(Entry entry, double distanceKm);
+    }
+
+    /**
+     * Calls the visitor for vendors within {@code radiusKm}, ring by ring outwards and unsorted.
+     * Vendors beyond the visitor's last answer are skipped, and the scan stops once no unvisited
+     * cell can hold anything closer. For callers that keep a running best instead of a page.
+     */
+    public void scanOutward(double lat, double lng, double radiusKm, Visitor visitor) {
+        if (!GeoUtils.isValidCoordinate(lat, lng)) return;
+        radiusKm = GeoUtils.clampRadius(radiusKm);
+        Grid g = grid;
+        double stopKm = radiusKm;
+        int ci = cellIndex(lat), cj = cellIndex(lng);
+        int maxRing = (int) Math.ceil(Math.max(GeoUtils.latDelta(radiusKm), GeoUtils.lngDelta(radiusKm, lat)) / CELL_DEG) + 1;
+        // Rows past the latitude window never hold hits; near the poles the ring count is driven by longitude
+        int minLat = cellIndex(lat - GeoUtils.latDelta(radiusKm)), maxLat = cellIndex(lat + GeoUtils.latDelta(radiusKm));
+
+        for (int r = 0; r <= maxRing; r++) {
+            for (int i = Math.max(ci - r, minLat); i <= Math.min(ci + r, maxLat); i++) {
+                int step = (i == ci - r || i == ci + r) ? 1 : Math.max(2 * r, 1);
+                for (int j = cj - r; j <= cj + r; j += step) {
+                    Map<Long, Entry> cell = g.cells.get(cellKey(i, j));
+                    if (cell == null) continue;
+                    for (Entry e : cell.values()) {
+                        // The latitude gap alone never overstates the distance, and skips the trig for most far hits
+                        if (Math.abs(e.latitude() - lat) * GeoUtils.KM_PER_DEG_LAT > stopKm) continue;
+                        double d = GeoUtils.haversineKm(lat, lng, e.latitude(), e.longitude());
+                        if (d <= stopKm) stopKm = Math.min(stopKm, visitor.visit(e, d));
+                    }
+                }
+            }
+            if (coveredKm(lat, lng, ci, cj, r) >= stopKm) return;
+        }
+    }
+
+    /** Lower bound on the distance to any point outside the (2r+1)^2 block of cells around (ci, cj). */
+    private static double coveredKm(double lat, double lng, int ci, int cj, int r) {
+        double south = (ci - r) * CELL_DEG, north = (ci + r + 1) * CELL_DEG;
+        double west = (cj - r) * CELL_DEG, east = (cj + r + 1) * CELL_DEG;
+        double latKm = Math.min(lat - south, north - lat) * GeoUtils.KM_PER_DEG_LAT;
+        double widestLat = Math.min(Math.max(Math.abs(south), Math.abs(north)), 89.0);
+        double lngKm = Math.min(lng - west, east - lng) * GeoUtils.KM_PER_DEG_LAT * Math.cos(Math.toRadians(widestLat));
+        return Math.min(latKm, lngKm);
+    }
+
+    private static int cellIndex(double deg) {
+        return (int) Math.floor(deg / CELL_DEG);
+    }
+
+    private static long cellKey(int latIdx, int lngIdx) {
+        return ((long) latIdx << 32) | (lngIdx & 0xffffffffL);
+    }
+
+    /** Writers are serialised on the index; readers only see fully applied entries. */
+    private static final class Grid {
+        final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+        final Map<Long, Map<Long, Entry>> cells = new ConcurrentHashMap<>();
+
+        void apply(Change c) {
+            if (c.entry() == null) remove(c.id());
+            else put(c.entry());
+        }
+
+        void put(Entry e) {
+            remove(e.id());
+            if (!GeoUtils.isValidCoordinate(e.latitude(), e.longitude())) return;
+            byId.put(e.id(), e);
+            cells.computeIfAbsent(cellKey(cellIndex(e.latitude()), cellIndex(e.longitude())),
+                k -> new ConcurrentHashMap<>()).put(e.id(), e);
+        }
+
+        void remove(Long id) {
+            Entry old = byId.remove(id);
+            if (old == null) return;
+            long key = cellKey(cellIndex(old.latitude()), cellIndex(old.longitude()));
+            Map<Long, Entry> cell = cells.get(key);
+            if (cell != null) {
+                cell.remove(id);
+                if (cell.isEmpty()) cells.remove(key);
+            }
+        }
+    }
+}
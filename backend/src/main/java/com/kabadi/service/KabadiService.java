@@ -4,8 +4,14 @@ import com.kabadi.exception.BadRequestException;
 import com.kabadi.exception.ResourceNotFoundException;
 import com.kabadi.model.dto.RedeemRequest;
 import com.kabadi.model.entity.*;
+import com.kabadi.model.response.CursorPage;
+import com.kabadi.model.response.NearbyKabadiResponse;
 import com.kabadi.repository.*;
+import com.kabadi.util.CursorCodec;
+import com.kabadi.util.GeoUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,13 +27,13 @@ public class KabadiService {
     private final KabadiWalaRepository kabadiRepo;
     private final WasteTransactionRepository txRepo;
     private final KCoinRedemptionRepository redemptionRepo;
-    private final AdminConfigRepository configRepo;
+    private final AdminConfigCache configCache;
+    private final KabadiGeoIndex geoIndex;
+    private final RedemptionExpiryService redemptionExpiry;
+    private final KCoinLedgerService ledger;
 
-    private int getConfig(String key, int defaultVal) {
-        return configRepo.findByConfigKey(key)
-            .map(c -> Integer.parseInt(c.getConfigValue()))
-            .orElse(defaultVal);
-    }
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_RADIUS_RESULTS = 200;
 
     public KabadiWala getProfile(Long id) {
         return kabadiRepo.findById(id)
@@ -43,57 +49,57 @@ public class KabadiService {
         if (body.containsKey("addressLine2")) kw.setAddressLine2(body.get("addressLine2"));
         if (body.containsKey("pincode")) kw.setPincode(body.get("pincode"));
         if (body.containsKey("preferredLanguage")) kw.setPreferredLanguage(body.get("preferredLanguage"));
-        if (body.containsKey("latitude")) kw.setLatitude(Double.parseDouble(body.get("latitude")));
-        if (body.containsKey("longitude")) kw.setLongitude(Double.parseDouble(body.get("longitude")));
-        return kabadiRepo.save(kw);
+        if (body.containsKey("latitude") || body.containsKey("longitude")) {
+            double lat, lng;
+            try {
+                lat = Double.parseDouble(body.getOrDefault("latitude", String.valueOf(kw.getLatitude())));
+                lng = Double.parseDouble(body.getOrDefault("longitude", String.valueOf(kw.getLongitude())));
+            } catch (NumberFormatException | NullPointerException e) {
+                throw new BadRequestException("Invalid coordinates");
+            }
+            requireCoordinates(lat, lng);
+            kw.setLatitude(lat);
+            kw.setLongitude(lng);
+        }
+        KabadiWala saved = kabadiRepo.save(kw);
+        geoIndex.upsert(saved);
+        return saved;
     }
 
+    @Timed(value = "kabadi.dashboard", extraTags = {"role", "KABADI"})
     @Transactional
     public Map<String, Object> getDashboard(Long id, String filter) {
         KabadiWala kw = getProfile(id);
 
-        // Total collected: sum of all transaction weights ever
-        List<WasteTransaction> allTxs = txRepo.findByKabadiWalaIdOrderByTransactionTimeDesc(id);
-        BigDecimal totalCollected = allTxs.stream()
-            .map(WasteTransaction::getWeightKg)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
         // Daily collected: always live from DB (today midnight → now)
         LocalDateTime todayStart = LocalDate.now().atStartOfDay();
         BigDecimal dailyCollected = txRepo.sumWeightByKabadiWalaSince(id, todayStart);
         if (dailyCollected == null) dailyCollected = BigDecimal.ZERO;
 
-        int thresholdKg = getConfig("daily_unlock_threshold_kg", 20);
+        int thresholdKg = configCache.dailyUnlockThresholdKg();
         boolean thresholdUnlocked = dailyCollected.compareTo(BigDecimal.valueOf(thresholdKg)) >= 0;
 
-        // Keep entity in sync so K-coin logic stays consistent on next transaction
-        if (kw.getLastThresholdReset() == null || kw.getLastThresholdReset().isBefore(LocalDate.now())) {
-            kw.setDailyCollectedKg(dailyCollected);
-            kw.setDailyThresholdUnlocked(thresholdUnlocked);
-            kw.setLastThresholdReset(LocalDate.now());
-            kabadiRepo.save(kw);
-        }
-
         Map<String, Object> result = new HashMap<>();
-        result.put("totalCollectedKg",  totalCollected);
+        result.put("totalCollectedKg",  kw.getTotalCollectedKg());
         result.put("dailyCollectedKg",  dailyCollected);
         result.put("thresholdUnlocked", thresholdUnlocked);
         result.put("thresholdKg",       thresholdKg);
-        result.put("kCoinsBalance",     kw.getKCoinsBalance());
+        result.put("kCoinsBalance",     ledger.balanceOf(id));
         result.put("priorityActive",    kw.getPriorityActive());
-        result.put("transactionCount",  allTxs.size());
+        result.put("transactionCount",  kw.getTransactionCount());
         return result;
     }
 
     public Map<String, Object> getKCoins(Long id) {
         KabadiWala kw = getProfile(id);
-        int redemptionThreshold = getConfig("redemption_threshold_coins", 30);
+        int redemptionThreshold = configCache.redemptionThresholdCoins();
         Optional<KCoinRedemption> activeRedemption = redemptionRepo.findByKabadiWalaIdAndIsActiveTrue(id);
         Map<String, Object> result = new HashMap<>();
-        result.put("kCoinsBalance", kw.getKCoinsBalance());
-        result.put("dailyCollectedKg", kw.getDailyCollectedKg());
-        result.put("thresholdUnlocked", kw.getDailyThresholdUnlocked());
-        result.put("redemptionEligible", kw.getKCoinsBalance() >= redemptionThreshold);
+        int balance = ledger.balanceOf(id);
+        result.put("kCoinsBalance", balance);
+        result.put("dailyCollectedKg", kw.dailyCollectedKgOn(LocalDate.now()));
+        result.put("thresholdUnlocked", kw.dailyThresholdUnlockedOn(LocalDate.now()));
+        result.put("redemptionEligible", balance >= redemptionThreshold);
         result.put("priorityActive", kw.getPriorityActive());
         result.put("priorityExpiresAt", kw.getPriorityExpiresAt());
         activeRedemption.ifPresent(r -> {
@@ -108,38 +114,114 @@ public class KabadiService {
 
     @Transactional
     public Map<String, Object> redeemKCoins(Long id, RedeemRequest req) {
-        KabadiWala kw = getProfile(id);
-        int threshold = getConfig("redemption_threshold_coins", 30);
-        int validityDays = getConfig("redemption_validity_days", 2);
+        // Row lock orders redemptions per vendor, so the derived balance cannot be spent twice
+        KabadiWala kw = kabadiRepo.findByIdForUpdate(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Kabadi-wala not found"));
+        int threshold = configCache.redemptionThresholdCoins();
+        int validityDays = configCache.redemptionValidityDays();
 
-        if (kw.getKCoinsBalance() < threshold)
+        if (ledger.balanceOf(id) < threshold)
             throw new BadRequestException("Insufficient K-Coins. Need " + threshold + " to redeem.");
         if (redemptionRepo.findByKabadiWalaIdAndIsActiveTrue(id).isPresent())
             throw new BadRequestException("Active redemption already exists. Cannot stack redemptions.");
 
-        kw.setKCoinsBalance(kw.getKCoinsBalance() - threshold);
         LocalDateTime validUntil = LocalDateTime.now().plusDays(validityDays);
         kw.setPriorityActive(true);
         kw.setPriorityExpiresAt(validUntil);
-        kabadiRepo.save(kw);
 
         KCoinRedemption redemption = KCoinRedemption.builder()
             .kabadiWala(kw).coinsRedeemed(threshold)
             .selectedCommodity(req.getSelectedCommodity())
             .validUntil(validUntil).isActive(true)
             .build();
-        redemptionRepo.save(redemption);
+        try {
+            redemptionRepo.saveAndFlush(redemption);
+        } catch (DataIntegrityViolationException e) {
+            // uq_redemptions_one_active: a concurrent redemption won
+            throw new BadRequestException("Active redemption already exists. Cannot stack redemptions.");
+        }
+        ledger.spend(id, threshold, redemption.getId());
+        redemptionExpiry.track(validUntil);
+        geoIndex.upsert(kw);
 
         return Map.of("success", true, "validUntil", validUntil,
             "commodity", req.getSelectedCommodity(), "priorityActive", true);
     }
 
-    public List<KabadiWala> findPriority(double lat, double lng) {
-        return kabadiRepo.findPriorityWithinRadius(lat, lng, 5.0);
+    @Timed("kabadi.vendors.priority")
+    public List<NearbyKabadiResponse> findPriority(double lat, double lng) {
+        requireCoordinates(lat, lng);
+        if (!geoIndex.isReady()) return toResponses(kabadiRepo.findPriorityWithinRadius(lat, lng, 5.0));
+        return fromHits(geoIndex.withinRadius(lat, lng, 5.0, true));
+    }
+
+    @Timed("kabadi.vendors.nearby")
+    public List<NearbyKabadiResponse> findNearby(double lat, double lng, double radiusKm) {
+        requireCoordinates(lat, lng);
+        requireRadius(radiusKm);
+        if (!geoIndex.isReady()) return toResponses(kabadiRepo.findNearbyWithinRadius(lat, lng, radiusKm, MAX_RADIUS_RESULTS));
+        List<NearbyKabadiResponse> all = fromHits(geoIndex.withinRadius(lat, lng, radiusKm, false));
+        return all.size() > MAX_RADIUS_RESULTS ? all.subList(0, MAX_RADIUS_RESULTS) : all;
+    }
+
+    /** Top-K mode: at most {@code limit} nearest vendors per page, resumable via {@code cursor}. */
+    @Timed("kabadi.vendors.nearest")
+    public CursorPage<NearbyKabadiResponse> findNearest(double lat, double lng, double radiusKm,
+                                                        int limit, String cursor) {
+        requireCoordinates(lat, lng);
+        requireRadius(radiusKm);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        double afterKm = -1;
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = CursorCodec.decode(cursor, 2);
+            try {
+                afterKm = Double.parseDouble(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<NearbyKabadiResponse> items = geoIndex.isReady()
+            ? fromHits(geoIndex.nearest(lat, lng, radiusKm, pageSize + 1, afterKm, afterId, false))
+            : toResponses(kabadiRepo.findNearest(lat, lng, radiusKm, afterKm, afterId, pageSize + 1));
+        if (items.size() <= pageSize) return CursorPage.of(items, null);
+
+        items = items.subList(0, pageSize);
+        NearbyKabadiResponse last = items.get(pageSize - 1);
+        return CursorPage.of(items, CursorCodec.encode(last.getDistanceKm(), last.getId()));
+    }
+
+    private static void requireCoordinates(double lat, double lng) {
+        if (!GeoUtils.isValidCoordinate(lat, lng))
+            throw new BadRequestException("Invalid coordinates: lat must be within ±90 and lng within ±180");
+    }
+
+    // Rejected rather than clamped, so a caller never mistakes a smaller search for the one it asked for
+    private static void requireRadius(double radiusKm) {
+        if (!(radiusKm > 0 && radiusKm <= GeoUtils.MAX_RADIUS_KM))
+            throw new BadRequestException("radius must be greater than 0 and at most " + (int) GeoUtils.MAX_RADIUS_KM + " km");
+    }
+
+    private List<NearbyKabadiResponse> fromHits(List<KabadiGeoIndex.Hit> hits) {
+        LocalDateTime now = LocalDateTime.now();
+        return hits.stream().map(h -> NearbyKabadiResponse.builder()
+            .id(h.entry().id()).name(h.entry().name()).area(h.entry().area())
+            .latitude(h.entry().latitude()).longitude(h.entry().longitude())
+            .priorityActive(h.entry().isPriority(now))
+            .distanceKm(h.distanceKm())
+            .build()).toList();
     }
 
-    public List<KabadiWala> findNearby(double lat, double lng, double radius) {
-        return kabadiRepo.findNearbyWithinRadius(lat, lng, radius);
+    private List<NearbyKabadiResponse> toResponses(List<NearbyKabadiView> rows) {
+        return rows.stream().map(r -> NearbyKabadiResponse.builder()
+            .id(r.getId()).name(r.getName()).area(r.getArea())
+            .latitude(r.getLatitude()).longitude(r.getLongitude())
+            .priorityActive(r.getPriorityActive())
+            .distanceKm(r.getDistanceKm())
+            .build()).toList();
     }
 
     @Transactional
@@ -0,0 +1,32 @@
+package com.kabadi.service;
+
+import java.time.Duration;
+
+/**
+ * Short-lived OTP state per {@code <userType>:<mobile>} key: the current code, its attempt
+ * counter, the send-rate window and the post-verification registration window.
+ * Implementations must make each method atomic per key.
+ */
+public interface OtpStore {
+
+    enum Verification { OK, INVALID, EXPIRED, TOO_MANY_ATTEMPTS, NOT_FOUND }
+
+    /**
+     * Replaces any pending code with {@code code} valid for {@code ttl} and resets its attempts.
+     * Returns false (and changes nothing) when the key already had {@code maxSends} codes in the
+     * current {@code window}.
+     */
+    boolean issue(String key, String code, Duration ttl, int maxSends, Duration window);
+
+    /**
+     * Counts one attempt against the pending code. A match consumes the code and opens a
+     * registration window of {@code verifiedTtl} for the key.
+     */
+    Verification verify(String key, String code, int maxAttempts, Duration verifiedTtl);
+
+    /** True once per successful verification while its registration window is open. */
+    boolean consumeVerified(String key);
+
+    /** Drops keys with nothing left to enforce: code expired, send window closed, not verified. */
+    int purgeExpired(Duration window);
+}
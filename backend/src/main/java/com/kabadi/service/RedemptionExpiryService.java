@@ -0,0 +1,93 @@
+package com.kabadi.service;
+
+import com.kabadi.model.entity.KabadiWala;
+import com.kabadi.repository.KCoinRedemptionRepository;
+import com.kabadi.repository.KabadiWalaRepository;
+import com.kabadi.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Expires K-coin redemptions at their validUntil.
+ * Only the earliest pending deadline is held in memory as a single scheduled task; when it fires,
+ * everything due is expired in bulk and the next deadline is read back from the index.
+ * The state is rebuilt from the database on startup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RedemptionExpiryService {
+
+    private final KCoinRedemptionRepository redemptionRepo;
+    private final KabadiWalaRepository kabadiRepo;
+    private final KabadiGeoIndex geoIndex;
+    private final TaskScheduler taskScheduler;
+
+    private ScheduledFuture<?> pending;
+    private LocalDateTime pendingAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        expireDueAndRearm();
+    }
+
+    /** Makes sure a wake-up is armed no later than {@code validUntil}, once the caller's transaction commits. */
+    public void track(LocalDateTime validUntil) {
+        TransactionUtils.afterCommit(() -> armAt(validUntil));
+    }
+
+    /** Expires all due redemptions, then arms the timer for the next one. */
+    public int expireDueAndRearm() {
+        int expired = expireDue();
+        LocalDateTime next = redemptionRepo.findNextExpiry();
+        synchronized (this) {
+            clearPending();
+            if (next != null) armAt(next);
+        }
+        return expired;
+    }
+
+    private int expireDue() {
+        List<Long> ids = redemptionRepo.expireDue(LocalDateTime.now());
+        if (ids.isEmpty()) return 0;
+        for (KabadiWala kw : kabadiRepo.findAllById(ids)) {
+            geoIndex.upsert(kw);
+        }
+        log.info("Expired priority for {} kabadi-walas", ids.size());
+        return ids.size();
+    }
+
+    private synchronized void armAt(LocalDateTime at) {
+        if (pendingAt != null && !at.isBefore(pendingAt)) return;
+        if (pending != null) pending.cancel(false);
+        pendingAt = at;
+        pending = taskScheduler.schedule(this::fire, at.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private void clearPending() {
+        if (pending != null) pending.cancel(false);
+        pending = null;
+        pendingAt = null;
+    }
+
+    private void fire() {
+        try {
+            expireDueAndRearm();
+        } catch (RuntimeException e) {
+            // The periodic sweep in KCoinScheduler re-arms the timer
+            log.error("Redemption expiry failed: {}", e.getMessage(), e);
+            synchronized (this) {
+                clearPending();
+            }
+        }
+    }
+}
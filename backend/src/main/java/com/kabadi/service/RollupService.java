@@ -0,0 +1,75 @@
+package com.kabadi.service;
+
+import com.kabadi.exception.BadRequestException;
+import com.kabadi.model.response.RollupBucket;
+import com.kabadi.repository.TransactionRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Day buckets per (owner, material) kept alongside every logged transaction.
+ * Month and year series are summed from the day buckets at read time.
+ */
+@Service
+@RequiredArgsConstructor
+public class RollupService {
+
+    public static final String OWNER_KABADI = "KABADI";
+    public static final String OWNER_USER = "USER";
+
+    private final TransactionRollupRepository rollupRepo;
+
+    @Transactional
+    public void record(Long kabadiId, Long userId, LocalDateTime time, String materialType,
+                       BigDecimal weightKg, BigDecimal amount, long txCount) {
+        LocalDate day = time.toLocalDate();
+        BigDecimal amt = amount != null ? amount : BigDecimal.ZERO;
+        rollupRepo.addToBucket(OWNER_KABADI, kabadiId, day, materialType, weightKg, amt, txCount);
+        if (userId != null) {
+            rollupRepo.addToBucket(OWNER_USER, userId, day, materialType, weightKg, amt, txCount);
+        }
+    }
+
+    /**
+     * Series for one owner. {@code filter} (daily | monthly | yearly) bounds the range like the
+     * transaction listings do; {@code granularity} (day | month | year) sets the bucket width.
+     */
+    public List<RollupBucket> getSeries(String ownerType, Long ownerId, String filter, String granularity) {
+        String unit = granularity == null ? "day" : granularity.toLowerCase();
+        if (!List.of("day", "month", "year").contains(unit))
+            throw new BadRequestException("Invalid granularity: " + granularity);
+        return rollupRepo.findSeries(ownerType, ownerId, fromDate(filter), unit).stream()
+            .map(v -> RollupBucket.builder()
+                .bucketStart(v.getBucketStart())
+                .materialType(v.getMaterialType())
+                .weightKg(v.getWeightKg())
+                .amount(v.getAmount())
+                .transactionCount(v.getTransactionCount())
+                .build())
+            .toList();
+    }
+
+    /** Rebuilds every bucket from waste_transactions (backfill / repair). */
+    @Transactional
+    public int rebuildAll() {
+        rollupRepo.deleteAllRows();
+        return rollupRepo.insertFromTransactions();
+    }
+
+    private LocalDate fromDate(String filter) {
+        LocalDate today = LocalDate.now();
+        if (filter == null) return CitizenStatsService.LIFETIME_START;
+        return switch (filter.toLowerCase()) {
+            case "daily"   -> today;
+            case "monthly" -> today.withDayOfMonth(1);
+            case "yearly"  -> today.withDayOfYear(1);
+            default        -> CitizenStatsService.LIFETIME_START;
+        };
+    }
+}
@@ -3,15 +3,22 @@ package com.kabadi.service;
 import com.kabadi.exception.BadRequestException;
 import com.kabadi.model.dto.TransactionRequest;
 import com.kabadi.model.entity.*;
+import com.kabadi.model.response.CursorPage;
+import com.kabadi.model.response.TransactionResponse;
 import com.kabadi.repository.*;
+import com.kabadi.util.CursorCodec;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 @Service
@@ -21,101 +28,304 @@ public class TransactionService {
     private final WasteTransactionRepository txRepo;
     private final UserRepository userRepo;
     private final KabadiWalaRepository kabadiRepo;
-    private final AdminConfigRepository configRepo;
+    private final AdminConfigCache configCache;
+    private final CitizenStatsService citizenStats;
+    private final RollupService rollups;
+    private final KCoinLedgerService ledger;
 
-    private int getConfig(String key, int defaultVal) {
-        return configRepo.findByConfigKey(key)
-            .map(c -> Integer.parseInt(c.getConfigValue()))
-            .orElse(defaultVal);
-    }
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final LocalDateTime START_OF_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+    /** Device clocks may run slightly ahead; later timestamps are rejected, earlier ones clamped to now. */
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(5);
 
+    @Timed("kabadi.transactions.log")
     @Transactional
     public Map<String, Object> logTransaction(TransactionRequest req) {
-        KabadiWala kw = kabadiRepo.findById(req.getKabadiWalaId())
-            .orElseThrow(() -> new BadRequestException("Kabadi-wala not found"));
+        Ingested r = ingest(List.of(req)).items().get(0);
+        WasteTransaction tx = r.duplicate() ? txRepo.findById(r.tx().getId()).orElse(r.tx()) : r.tx();
 
-        User user = null;
-        if (req.getUserId() != null) {
-            user = userRepo.findById(req.getUserId()).orElse(null);
+        Map<String, Object> result = new HashMap<>();
+        result.put("transactionId",     tx.getId());
+        result.put("amountPaid",        tx.getAmountPaid());
+        result.put("kCoinsEarned",      r.kCoinsEarned());
+        result.put("newKCoinBalance",   ledger.balanceOf(tx.getKabadiWala().getId()));
+        result.put("duplicate",         r.duplicate());
+        if (!r.duplicate()) {
+            result.put("dailyCollectedKg",  r.dailyCollectedKg());
+            result.put("thresholdUnlocked", r.dailyCollectedKg().compareTo(BigDecimal.valueOf(configCache.dailyUnlockThresholdKg())) >= 0);
         }
+        return result;
+    }
 
-        BigDecimal amount = req.getWeightKg().multiply(req.getPricePerKg()).setScale(2, RoundingMode.HALF_UP);
+    /**
+     * Offline sync: every item needs an idempotency key, and keys already stored for the vendor
+     * (or repeated within the batch) are reported as duplicates instead of being logged again.
+     */
+    @Timed("kabadi.transactions.batch")
+    @Transactional
+    public Map<String, Object> logBatch(List<TransactionRequest> reqs) {
+        for (int i = 0; i < reqs.size(); i++) {
+            String key = reqs.get(i).getIdempotencyKey();
+            if (key == null || key.isBlank())
+                throw new BadRequestException("transactions[" + i + "]: idempotencyKey is required");
+        }
+        Batch batch = ingest(reqs);
 
-        WasteTransaction tx = WasteTransaction.builder()
-            .user(user).kabadiWala(kw)
-            .materialType(req.getMaterialType())
-            .weightKg(req.getWeightKg())
-            .amountPaid(amount)
-            .pricePerKg(req.getPricePerKg())
-            .transactionTime(LocalDateTime.now())
-            .build();
-        txRepo.save(tx);
+        List<Map<String, Object>> items = new ArrayList<>(batch.items().size());
+        int created = 0;
+        for (Ingested r : batch.items()) {
+            if (!r.duplicate()) created++;
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("idempotencyKey", r.tx().getIdempotencyKey());
+            item.put("transactionId",  r.tx().getId());
+            item.put("status",         r.duplicate() ? "DUPLICATE" : "CREATED");
+            item.put("kCoinsEarned",   r.kCoinsEarned());
+            items.add(item);
+        }
+        Map<Long, Integer> balances = new LinkedHashMap<>();
+        for (Long kabadiId : batch.kabadiIds()) balances.put(kabadiId, ledger.balanceOf(kabadiId));
 
-        // ── K-Coin Calculation ────────────────────────────────────
-        int thresholdKg = getConfig("daily_unlock_threshold_kg", 20);
-        int kgPerCoin   = getConfig("kcoins_per_extra_kg", 5);
+        Map<String, Object> result = new HashMap<>();
+        result.put("created",     created);
+        result.put("duplicates",  items.size() - created);
+        result.put("items",       items);
+        result.put("kCoinBalances", balances);
+        return result;
+    }
+
+    private record Ingested(WasteTransaction tx, boolean duplicate, int kCoinsEarned, BigDecimal dailyCollectedKg) {}
+
+    private record Batch(List<Ingested> items, Collection<Long> kabadiIds) {}
+
+    private record VendorDay(Long kabadiId, LocalDate day) {}
+
+    private record Bucket(Long kabadiId, Long userId, LocalDate day, String materialType) {}
 
-        // ✅ FIX 1: Null-safe the daily kg field — could be null for new entities
-        if (kw.getDailyCollectedKg() == null) {
-            kw.setDailyCollectedKg(BigDecimal.ZERO);
+    private record UserDay(Long userId, LocalDate day) {}
+
+    private record Totals(BigDecimal weightKg, BigDecimal amount, int count) {
+        static Totals of(WasteTransaction tx) {
+            return new Totals(tx.getWeightKg(), tx.getAmountPaid(), 1);
         }
 
-        // ✅ FIX 2: Null-safe the kCoinsBalance field
-        if (kw.getKCoinsBalance() == null) {
-            kw.setKCoinsBalance(0);
+        Totals plus(Totals o) {
+            return new Totals(weightKg.add(o.weightKg), amount.add(o.amount), count + o.count);
         }
+    }
+
+    /**
+     * Inserts the new transactions in one JDBC batch, then applies rollups, citizen stats and
+     * K-coins once per bucket / vendor-day instead of once per transaction.
+     */
+    private Batch ingest(List<TransactionRequest> reqs) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
 
-        // Reset daily counter if it's a new day
-        if (kw.getLastThresholdReset() == null || kw.getLastThresholdReset().isBefore(LocalDate.now())) {
-            kw.setDailyCollectedKg(BigDecimal.ZERO);
-            kw.setDailyThresholdUnlocked(false);
-            kw.setLastThresholdReset(LocalDate.now());
+        // No vendor lock here: the key lookup below is only a fast path, uq_waste_tx_idempotency
+        // settles races, and addCollectedKg / addLifetimeTotals are the per-vendor ordering point.
+        Set<Long> vendorIds = new TreeSet<>(reqs.stream().map(TransactionRequest::getKabadiWalaId).toList());
+        Map<Long, KabadiWala> vendors = new HashMap<>();
+        for (KabadiWala kw : kabadiRepo.findAllById(vendorIds)) vendors.put(kw.getId(), kw);
+        for (Long id : vendorIds) {
+            if (!vendors.containsKey(id)) throw new BadRequestException("Kabadi-wala not found: " + id);
         }
+        Set<Long> userIds = new HashSet<>();
+        for (TransactionRequest req : reqs) if (req.getUserId() != null) userIds.add(req.getUserId());
+        Map<Long, User> users = new HashMap<>();
+        for (User u : userRepo.findAllById(userIds)) users.put(u.getId(), u);
 
-        BigDecimal prevTotal = kw.getDailyCollectedKg();         // kg BEFORE this transaction
-        BigDecimal newTotal  = prevTotal.add(req.getWeightKg()); // kg AFTER  this transaction
-        kw.setDailyCollectedKg(newTotal);
+        Map<Long, Set<String>> keysByVendor = new HashMap<>();
+        for (TransactionRequest req : reqs) {
+            if (req.getIdempotencyKey() != null)
+                keysByVendor.computeIfAbsent(req.getKabadiWalaId(), k -> new HashSet<>()).add(req.getIdempotencyKey());
+        }
+        Map<Long, Map<String, Long>> stored = new HashMap<>();
+        keysByVendor.forEach((kabadiId, keys) -> {
+            Map<String, Long> byKey = new HashMap<>();
+            for (IdempotencyKeyView v : txRepo.findIdempotencyKeys(kabadiId, keys)) byKey.put(v.getIdempotencyKey(), v.getId());
+            stored.put(kabadiId, byKey);
+        });
 
-        int kCoinsEarned = 0;
-        BigDecimal threshold = BigDecimal.valueOf(thresholdKg);
-        BigDecimal perCoin   = BigDecimal.valueOf(kgPerCoin);
+        // Build the new rows; duplicates point at the stored row or the earlier item in this batch
+        WasteTransaction[] txs = new WasteTransaction[reqs.size()];
+        boolean[] duplicate = new boolean[reqs.size()];
+        Map<Long, Map<String, WasteTransaction>> seen = new HashMap<>();
+        List<WasteTransaction> fresh = new ArrayList<>();
+        for (int i = 0; i < reqs.size(); i++) {
+            TransactionRequest req = reqs.get(i);
+            KabadiWala kw = vendors.get(req.getKabadiWalaId());
+            String key = req.getIdempotencyKey();
+            if (key != null) {
+                Long storedId = stored.get(kw.getId()).get(key);
+                WasteTransaction earlier = seen.computeIfAbsent(kw.getId(), k -> new HashMap<>()).get(key);
+                if (storedId != null || earlier != null) {
+                    duplicate[i] = true;
+                    txs[i] = earlier != null ? earlier
+                        : WasteTransaction.builder().id(storedId).kabadiWala(kw).idempotencyKey(key).build();
+                    continue;
+                }
+            }
+            LocalDateTime time = req.getRecordedAt() != null ? req.getRecordedAt() : now;
+            if (time.isAfter(now.plus(MAX_CLOCK_SKEW)))
+                throw new BadRequestException("transactions[" + i + "]: recordedAt is in the future");
 
-        if (newTotal.compareTo(threshold) >= 0) {
-            kw.setDailyThresholdUnlocked(true);
+            BigDecimal amount = req.getWeightKg().multiply(req.getPricePerKg()).setScale(2, RoundingMode.HALF_UP);
+            WasteTransaction tx = WasteTransaction.builder()
+                .user(req.getUserId() != null ? users.get(req.getUserId()) : null).kabadiWala(kw)
+                .materialType(req.getMaterialType())
+                .weightKg(req.getWeightKg())
+                .amountPaid(amount)
+                .pricePerKg(req.getPricePerKg())
+                .transactionTime(time.isAfter(now) ? now : time)
+                .idempotencyKey(key)
+                .build();
+            if (key != null) seen.get(kw.getId()).put(key, tx);
+            txs[i] = tx;
+            fresh.add(tx);
+        }
+        // Keyed rows in (vendor, key) order, so two syncs of the same keys wait on each other
+        // instead of deadlocking on the unique index
+        fresh.sort(Comparator.comparing((WasteTransaction tx) -> tx.getKabadiWala().getId())
+            .thenComparing(WasteTransaction::getIdempotencyKey, Comparator.nullsFirst(Comparator.naturalOrder())));
+        txRepo.saveAll(fresh);
+        dropLostInserts(fresh, txs, duplicate);
 
-            BigDecimal prevExtra = prevTotal.subtract(threshold).max(BigDecimal.ZERO);
-            int prevCoins = prevExtra.divide(perCoin, 0, RoundingMode.FLOOR).intValue();
+        // ── Rollups and citizen stats, one upsert per bucket ──────
+        Map<Bucket, Totals> rollupTotals = new LinkedHashMap<>();
+        Map<UserDay, Totals> citizenTotals = new LinkedHashMap<>();
+        for (WasteTransaction tx : fresh) {
+            Long userId = tx.getUser() != null ? tx.getUser().getId() : null;
+            LocalDate day = tx.getTransactionTime().toLocalDate();
+            Totals t = Totals.of(tx);
+            rollupTotals.merge(new Bucket(tx.getKabadiWala().getId(), userId, day, tx.getMaterialType()), t, Totals::plus);
+            if (userId != null) citizenTotals.merge(new UserDay(userId, day), t, Totals::plus);
+        }
+        rollupTotals.forEach((b, t) -> rollups.record(b.kabadiId(), b.userId(), b.day().atStartOfDay(),
+            b.materialType(), t.weightKg(), t.amount(), t.count()));
+        citizenTotals.forEach((u, t) -> citizenStats.record(u.userId(), u.day().atStartOfDay(),
+            t.amount(), t.weightKg(), t.count()));
 
-            BigDecimal newExtra = newTotal.subtract(threshold);
-            int newCoins = newExtra.divide(perCoin, 0, RoundingMode.FLOOR).intValue();
+        // ── K-Coin Calculation ────────────────────────────────────
+        // Each vendor-day is settled once, in weighing order: today's rows go through the SQL
+        // counter (addCollectedKg), earlier days start from what is already stored for that day.
+        int thresholdKg = configCache.dailyUnlockThresholdKg();
+        BigDecimal threshold = BigDecimal.valueOf(thresholdKg);
+        BigDecimal perCoin   = BigDecimal.valueOf(configCache.kcoinsPerExtraKg());
 
-            kCoinsEarned = newCoins - prevCoins;
+        Map<VendorDay, List<WasteTransaction>> byVendorDay = new TreeMap<>(
+            Comparator.comparing(VendorDay::kabadiId).thenComparing(VendorDay::day));
+        for (WasteTransaction tx : fresh) {
+            byVendorDay.computeIfAbsent(new VendorDay(tx.getKabadiWala().getId(), tx.getTransactionTime().toLocalDate()),
+                k -> new ArrayList<>()).add(tx);
+        }
+        Map<WasteTransaction, Integer> coins = new IdentityHashMap<>();
+        Map<WasteTransaction, BigDecimal> running = new IdentityHashMap<>();
+        byVendorDay.forEach((vd, dayTxs) -> {
+            dayTxs.sort(Comparator.comparing(WasteTransaction::getTransactionTime)
+                .thenComparing(WasteTransaction::getId));
+            BigDecimal kg = dayTxs.stream().map(WasteTransaction::getWeightKg).reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal total;
+            if (vd.day().equals(today)) {
+                total = kabadiRepo.addCollectedKg(vd.kabadiId(), kg, dayTxs.size(), thresholdKg, today);
+            } else {
+                // The totals UPDATE takes the vendor's row lock first, so the sum (a later statement)
+                // sees every earlier writer's rows for that day as well as this batch
+                kabadiRepo.addLifetimeTotals(vd.kabadiId(), kg, dayTxs.size());
+                LocalDateTime dayStart = vd.day().atStartOfDay();
+                total = txRepo.sumWeightByKabadiWalaBetween(vd.kabadiId(), dayStart, dayStart.plusDays(1));
+            }
+            BigDecimal before = total.subtract(kg); // kg BEFORE this vendor-day's first new transaction
+            for (WasteTransaction tx : dayTxs) {
+                BigDecimal after = before.add(tx.getWeightKg());
+                int earned = coinsFor(after, threshold, perCoin) - coinsFor(before, threshold, perCoin);
+                ledger.earn(vd.kabadiId(), earned, tx.getId(), vd.day());
+                coins.put(tx, earned);
+                running.put(tx, after);
+                before = after;
+            }
+        });
 
-            // ✅ FIX 3: Use Integer-safe addition
-            kw.setKCoinsBalance(kw.getKCoinsBalance() + kCoinsEarned);
+        List<Ingested> items = new ArrayList<>(reqs.size());
+        for (int i = 0; i < reqs.size(); i++) {
+            items.add(duplicate[i]
+                ? new Ingested(txs[i], true, 0, null)
+                : new Ingested(txs[i], false, coins.get(txs[i]), running.get(txs[i])));
         }
-        kabadiRepo.save(kw);
+        return new Batch(items, vendors.keySet().stream().sorted().toList());
+    }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("transactionId",     tx.getId());
-        result.put("amountPaid",        amount);
-        result.put("kCoinsEarned",      kCoinsEarned);
-        result.put("newKCoinBalance",   kw.getKCoinsBalance());
-        result.put("dailyCollectedKg",  kw.getDailyCollectedKg());
-        result.put("thresholdUnlocked", kw.getDailyThresholdUnlocked());
-        return result;
+    /**
+     * A keyed row whose insert hit uq_waste_tx_idempotency (a concurrent sync committed the same
+     * key first) was not written. It becomes a duplicate of the stored row, and is dropped from
+     * {@code fresh} so no rollup, stat or coin is counted for it.
+     */
+    private void dropLostInserts(List<WasteTransaction> fresh, WasteTransaction[] txs, boolean[] duplicate) {
+        List<Long> keyedIds = fresh.stream().filter(tx -> tx.getIdempotencyKey() != null)
+            .map(WasteTransaction::getId).toList();
+        if (keyedIds.isEmpty()) return;
+        Set<Long> written = new HashSet<>(txRepo.findExistingIds(keyedIds));
+        if (written.size() == keyedIds.size()) return;
+
+        Map<WasteTransaction, WasteTransaction> stored = new IdentityHashMap<>();
+        for (WasteTransaction tx : fresh) {
+            if (tx.getIdempotencyKey() == null || written.contains(tx.getId())) continue;
+            KabadiWala kw = tx.getKabadiWala();
+            Long storedId = txRepo.findIdempotencyKeys(kw.getId(), List.of(tx.getIdempotencyKey())).get(0).getId();
+            stored.put(tx, WasteTransaction.builder().id(storedId).kabadiWala(kw).idempotencyKey(tx.getIdempotencyKey()).build());
+        }
+        fresh.removeIf(stored::containsKey);
+        for (int i = 0; i < txs.length; i++) {
+            WasteTransaction winner = stored.get(txs[i]);
+            if (winner != null) {
+                txs[i] = winner;
+                duplicate[i] = true;
+            }
+        }
     }
 
-    public List<WasteTransaction> getKabadiTransactions(Long kabadiId, String filter) {
-        LocalDateTime from = getFromDate(filter);
-        return from == null ? txRepo.findByKabadiWalaIdOrderByTransactionTimeDesc(kabadiId)
-            : txRepo.findByKabadiWalaIdSince(kabadiId, from);
+    static int coinsFor(BigDecimal dailyKg, BigDecimal threshold, BigDecimal perCoin) {
+        return dailyKg.subtract(threshold).max(BigDecimal.ZERO).divide(perCoin, 0, RoundingMode.FLOOR).intValue();
+    }
+
+    public CursorPage<TransactionResponse> getKabadiTransactions(Long kabadiId, String filter, String before, Integer size) {
+        return page(filter, before, size, (from, beforeTime, beforeId, limit) ->
+            txRepo.findKabadiPage(kabadiId, from, beforeTime, beforeId, limit));
+    }
+
+    public CursorPage<TransactionResponse> getUserTransactions(Long userId, String filter, String before, Integer size) {
+        return page(filter, before, size, (from, beforeTime, beforeId, limit) ->
+            txRepo.findUserPage(userId, from, beforeTime, beforeId, limit));
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        List<TransactionResponse> fetch(LocalDateTime from, LocalDateTime beforeTime, Long beforeId, Limit limit);
     }
 
-    public List<WasteTransaction> getUserTransactions(Long userId, String filter) {
+    private CursorPage<TransactionResponse> page(String filter, String before, Integer size, PageQuery query) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
         LocalDateTime from = getFromDate(filter);
-        return from == null ? txRepo.findByUserIdOrderByTransactionTimeDesc(userId)
-            : txRepo.findByUserIdSince(userId, from);
+        LocalDateTime beforeTime = END_OF_TIME;
+        long beforeId = Long.MAX_VALUE;
+        if (before != null && !before.isBlank()) {
+            String[] parts = CursorCodec.decode(before, 2);
+            try {
+                beforeTime = LocalDateTime.parse(parts[0]);
+                beforeId = Long.parseLong(parts[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+
+        // One extra row tells us whether there is an older page
+        List<TransactionResponse> rows = query.fetch(from != null ? from : START_OF_TIME,
+            beforeTime, beforeId, Limit.of(pageSize + 1));
+        if (rows.size() <= pageSize) return CursorPage.of(rows, null);
+        rows = rows.subList(0, pageSize);
+        TransactionResponse last = rows.get(pageSize - 1);
+        return CursorPage.of(rows, CursorCodec.encode(last.getTransactionTime(), last.getId()));
     }
 
     private LocalDateTime getFromDate(String filter) {
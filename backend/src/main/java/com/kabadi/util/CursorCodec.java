@@ -0,0 +1,32 @@
+package com.kabadi.util;
+
+import com.kabadi.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/** Opaque keyset cursors: the key columns joined with '|' and base64url-encoded. */
+public final class CursorCodec {
+
+    private CursorCodec() {}
+
+    public static String encode(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) sb.append('|');
+            sb.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Splits a cursor back into exactly {@code expectedParts} fields. */
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != expectedParts) throw new BadRequestException("Invalid cursor");
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -2,8 +2,13 @@ package com.kabadi.util;
 
 import com.kabadi.model.entity.*;
 import com.kabadi.repository.*;
+import com.kabadi.service.CitizenStatsService;
+import com.kabadi.service.IdAllocator;
+import com.kabadi.service.KCoinLedgerService;
+import com.kabadi.service.RollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -22,6 +27,32 @@ public class DataSeeder implements CommandLineRunner {
     private final KCoinRedemptionRepository redemptionRepo;
     private final AdminRepository adminRepo;
     private final PasswordEncoder passwordEncoder;
+    private final CitizenStatsService citizenStats;
+    private final RollupService rollups;
+    private final KCoinLedgerService ledger;
+    private final IdAllocator ids;
+    private final SyntheticDataGenerator synthetic;
+
+    @Value("${app.seed.mode:demo}")
+    private String seedMode;
+
+    @Value("${app.seed.synthetic.users:1000000}")
+    private long syntheticUsers;
+
+    @Value("${app.seed.synthetic.vendors:50000}")
+    private long syntheticVendors;
+
+    @Value("${app.seed.synthetic.transactions:10000000}")
+    private long syntheticTransactions;
+
+    @Value("${app.seed.synthetic.bookings:500000}")
+    private long syntheticBookings;
+
+    @Value("${app.seed.synthetic.days:365}")
+    private int syntheticDays;
+
+    @Value("${app.seed.synthetic.random-seed:42}")
+    private long syntheticSeed;
 
     @Override
     public void run(String... args) {
@@ -43,8 +74,15 @@ public class DataSeeder implements CommandLineRunner {
             }
         );
 
+        if ("none".equals(seedMode)) return;
         if (userRepo.count() > 0) {
-            log.info("Demo data already seeded. Skipping.");
+            log.info("Users already present, skipping {} data.", seedMode);
+            return;
+        }
+        if ("synthetic".equals(seedMode)) {
+            log.info("Generating synthetic data...");
+            synthetic.generate(new SyntheticDataGenerator.Spec(syntheticUsers, syntheticVendors,
+                syntheticTransactions, syntheticBookings, syntheticDays, syntheticSeed));
             return;
         }
 
@@ -53,17 +91,17 @@ public class DataSeeder implements CommandLineRunner {
         // Citizens
         User c1 = userRepo.save(User.builder()
             .name("Priya Sharma").mobile("9876543210")
-            .wasteRecyclerId("WR-2026-00001")
+            .wasteRecyclerId(ids.nextWasteRecyclerId())
             .addressLine1("12 Gandhi Nagar").addressLine2("Sector 5")
             .pincode("110001").preferredLanguage("en").build());
         User c2 = userRepo.save(User.builder()
             .name("Rahul Verma").mobile("9876543211")
-            .wasteRecyclerId("WR-2026-00002")
+            .wasteRecyclerId(ids.nextWasteRecyclerId())
             .addressLine1("45 MG Road").pincode("560001")
             .preferredLanguage("hi").build());
         User c3 = userRepo.save(User.builder()
             .name("Anita Das").mobile("9876543212")
-            .wasteRecyclerId("WR-2026-00003")
+            .wasteRecyclerId(ids.nextWasteRecyclerId())
             .addressLine1("78 Park Street").pincode("700001")
             .preferredLanguage("bn").build());
 
@@ -71,18 +109,22 @@ public class DataSeeder implements CommandLineRunner {
         KabadiWala k1 = kabadiRepo.save(KabadiWala.builder()
             .name("Ramu Kabadiwala").mobile("9800000001")
             .area("Connaught Place").isActive(true)
-            .kCoinsBalance(35).latitude(28.6315).longitude(77.2167)
+            .latitude(28.6315).longitude(77.2167)
             .priorityActive(true).priorityExpiresAt(LocalDateTime.now().plusDays(1))
             .preferredLanguage("hi").build());
         KabadiWala k2 = kabadiRepo.save(KabadiWala.builder()
             .name("Shyam Junk Dealer").mobile("9800000002")
-            .area("Lajpat Nagar").isActive(true).kCoinsBalance(10)
+            .area("Lajpat Nagar").isActive(true)
             .latitude(28.5677).longitude(77.2441).preferredLanguage("hi").build());
         KabadiWala k3 = kabadiRepo.save(KabadiWala.builder()
             .name("Abdul Recyclables").mobile("9800000003")
-            .area("Karol Bagh").isActive(true).kCoinsBalance(0)
+            .area("Karol Bagh").isActive(true)
             .latitude(28.6519).longitude(77.1909).preferredLanguage("en").build());
 
+        // Opening K-coin balances
+        ledger.adjust(k1.getId(), 35, "OPENING_BALANCE");
+        ledger.adjust(k2.getId(), 10, "OPENING_BALANCE");
+
         // Active redemption for k1
         redemptionRepo.save(KCoinRedemption.builder()
             .kabadiWala(k1).coinsRedeemed(30)
@@ -97,6 +139,9 @@ public class DataSeeder implements CommandLineRunner {
         saveTx(c2, k2, "PLASTIC", "4.0", "12.00");
         saveTx(c3, k2, "GLASS", "2.0", "5.00");
         saveTx(c3, k3, "E_WASTE", "1.5", "60.00");
+        kabadiRepo.recomputeLifetimeTotals();
+        citizenStats.rebuildAll();
+        rollups.rebuildAll();
 
         log.info("Demo data seeded successfully.");
     }
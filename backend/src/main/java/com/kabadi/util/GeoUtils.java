@@ -0,0 +1,44 @@
+package com.kabadi.util;
+
+/** Great-circle helpers shared by the in-memory index and the SQL bounding boxes. */
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    /** Length of one degree of latitude in km. */
+    public static final double KM_PER_DEG_LAT = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    /** Largest radius any search covers; the API rejects larger requests, the geo index clamps them. */
+    public static final double MAX_RADIUS_KM = 50.0;
+
+    private GeoUtils() {}
+
+    public static boolean isValidCoordinate(double lat, double lng) {
+        return Double.isFinite(lat) && Double.isFinite(lng) && Math.abs(lat) <= 90.0 && Math.abs(lng) <= 180.0;
+    }
+
+    /** {@code radiusKm} limited to [0, {@link #MAX_RADIUS_KM}]; NaN becomes 0. */
+    public static double clampRadius(double radiusKm) {
+        return radiusKm > 0 ? Math.min(radiusKm, MAX_RADIUS_KM) : 0.0;
+    }
+
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+            * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /** Degrees of latitude covering {@code km}. */
+    public static double latDelta(double km) {
+        return km / KM_PER_DEG_LAT;
+    }
+
+    /** Degrees of longitude covering {@code km} at the given latitude (clamped near the poles). */
+    public static double lngDelta(double km, double lat) {
+        double cos = Math.max(Math.cos(Math.toRadians(lat)), 0.01);
+        return Math.min(km / (KM_PER_DEG_LAT * cos), 180.0);
+    }
+}
@@ -1,13 +1,18 @@
 package com.kabadi.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import javax.crypto.SecretKey;
 
 @Component
@@ -19,8 +24,26 @@ public class JwtUtil {
     @Value("${app.jwt.expiration-ms}")
     private long expirationMs;
 
-    private SecretKey getKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    @Value("${app.jwt.cache-size:10000}")
+    private int cacheSize;
+
+    // Key and parser are immutable and thread-safe, so they are built once
+    private SecretKey key;
+    private JwtParser parser;
+
+    /** Tokens whose signature has already been checked, each until its own {@code exp}; size-bounded. */
+    private Cache<String, Principal> verified;
+
+    public record Principal(Long userId, String userType, long expiresAtMs) {}
+
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(key).build();
+        verified = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfter(new UntilTokenExpiry())
+            .build();
     }
 
     public String generateToken(Long userId, String userType, String name, String preferredLanguage) {
@@ -34,28 +57,48 @@ public class JwtUtil {
             ))
             .issuedAt(new Date())
             .expiration(new Date(System.currentTimeMillis() + expirationMs))
-            .signWith(getKey())
+            .signWith(key)
             .compact();
     }
 
     public Claims parseClaims(String token) {
-        return Jwts.parser().verifyWith(getKey()).build().parseSignedClaims(token).getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    public boolean isValid(String token) {
+    /** Principal for a valid, unexpired token, or null. Verifies each distinct token once. */
+    public Principal authenticate(String token) {
+        Principal cached = verified.getIfPresent(token);
+        if (cached != null) return cached;
+        Claims claims;
         try {
-            parseClaims(token);
-            return true;
+            claims = parseClaims(token);
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
         }
+        if (!(claims.get("userId") instanceof Number userId) || !(claims.get("userType") instanceof String userType))
+            return null;
+        Principal p = new Principal(userId.longValue(), userType,
+            claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE);
+        verified.put(token, p);
+        return p;
     }
 
-    public Long getUserId(String token) {
-        return Long.valueOf(parseClaims(token).get("userId").toString());
-    }
+    /** An entry lives exactly as long as its token; reads and re-puts do not extend it. */
+    private static final class UntilTokenExpiry implements Expiry<String, Principal> {
+        @Override
+        public long expireAfterCreate(String token, Principal p, long currentTime) {
+            // Saturates for tokens without exp (Long.MAX_VALUE)
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, p.expiresAtMs() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Principal p, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
 
-    public String getUserType(String token) {
-        return (String) parseClaims(token).get("userType");
+        @Override
+        public long expireAfterRead(String token, Principal p, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
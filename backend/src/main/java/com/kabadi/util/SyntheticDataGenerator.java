@@ -0,0 +1,371 @@
+package com.kabadi.util;
+
+import com.kabadi.repository.KabadiWalaRepository;
+import com.kabadi.service.CitizenStatsService;
+import com.kabadi.service.IdAllocator;
+import com.kabadi.service.RollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+/**
+ * Bulk synthetic data for capacity testing: city-clustered citizens and vendors, transaction
+ * history and bookings, streamed with {@code COPY} in parallel chunks.
+ * Each chunk draws from its own random stream derived from the seed, so the same seed and
+ * chunk size give the same rows whatever the thread count. Ids are reserved from the pooled
+ * sequences up front; run it while nothing else is writing.
+ */
+@Service
+@Slf4j
+public class SyntheticDataGenerator {
+
+    /** Sequence increment, matching allocationSize on the entities. */
+    private static final int ID_POOL = 50;
+    private static final int FLUSH_BYTES = 1 << 20;
+
+    private record City(String name, double latitude, double longitude, String pincodePrefix, int weight) {}
+
+    private static final List<City> CITIES = List.of(
+        new City("Delhi", 28.6139, 77.2090, "110", 30),
+        new City("Mumbai", 19.0760, 72.8777, "400", 25),
+        new City("Bengaluru", 12.9716, 77.5946, "560", 20),
+        new City("Kolkata", 22.5726, 88.3639, "700", 15),
+        new City("Chennai", 13.0827, 80.2707, "600", 10));
+    private static final int TOTAL_WEIGHT = CITIES.stream().mapToInt(City::weight).sum();
+
+    private static final String[] MATERIALS = {"PLASTIC", "PAPER", "METAL", "GLASS", "E_WASTE"};
+    /** Price per kg in paise, min and max per material. */
+    private static final int[][] PRICE_PAISE = {{1000, 1500}, {600, 1000}, {3000, 5000}, {200, 600}, {4000, 8000}};
+    private static final String[] FIRST_NAMES = {"Amit", "Sunita", "Ravi", "Pooja", "Imran", "Kavita", "Suresh",
+        "Lakshmi", "Arjun", "Fatima", "Vijay", "Meena", "Rakesh", "Deepa", "Sanjay", "Anjali"};
+    private static final String[] LAST_NAMES = {"Kumar", "Sharma", "Singh", "Das", "Iyer", "Khan", "Patel",
+        "Reddy", "Yadav", "Ghosh", "Nair", "Gupta"};
+    private static final String[] LANGUAGES = {"en", "hi", "bn", "ta", "mr"};
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+    private final IdAllocator ids;
+    private final KabadiWalaRepository kabadiRepo;
+    private final CitizenStatsService citizenStats;
+    private final RollupService rollups;
+
+    @Value("${app.seed.synthetic.threads:4}")
+    private int threads;
+
+    @Value("${app.seed.synthetic.chunk-size:100000}")
+    private int chunkSize;
+
+    public SyntheticDataGenerator(DataSource dataSource, IdAllocator ids, KabadiWalaRepository kabadiRepo,
+                                  CitizenStatsService citizenStats, RollupService rollups) {
+        this.dataSource = dataSource;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.ids = ids;
+        this.kabadiRepo = kabadiRepo;
+        this.citizenStats = citizenStats;
+        this.rollups = rollups;
+    }
+
+    /** Row counts, how many days of history to spread transactions and bookings over, and the random seed. */
+    public record Spec(long users, long vendors, long transactions, long bookings, int days, long seed) {}
+
+    public void generate(Spec spec) {
+        if ((spec.transactions() > 0 && spec.vendors() == 0) || (spec.bookings() > 0 && spec.users() == 0))
+            throw new IllegalArgumentException("Transactions need vendors and bookings need users");
+        long start = System.currentTimeMillis();
+        Layout layout = new Layout(spec, LocalDateTime.now(),
+            reserveIds("users_id_seq", spec.users()),
+            reserveIds("kabadi_walas_id_seq", spec.vendors()),
+            reserveIds("waste_transactions_id_seq", spec.transactions()),
+            reserveIds("bookings_id_seq", spec.bookings()),
+            ids.reserveWasteRecyclerIds(spec.users()));
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> parents = new ArrayList<>();
+            parents.addAll(copy(pool, spec, 1, "users",
+                "id, name, mobile, waste_recycler_id, address_line1, address_line2, pincode, preferred_language, created_at",
+                spec.users(), layout::user));
+            parents.addAll(copy(pool, spec, 2, "kabadi_walas",
+                "id, name, mobile, area, address_line1, pincode, is_active, priority_active, priority_expires_at, "
+                    + "preferred_language, created_at, latitude, longitude",
+                spec.vendors(), layout::vendor));
+            await("users and kabadi_walas", parents, start);
+
+            long childrenStart = System.currentTimeMillis();
+            List<Future<Long>> children = new ArrayList<>();
+            children.addAll(copy(pool, spec, 3, "waste_transactions",
+                "id, user_id, kabadi_wala_id, material_type, weight_kg, amount_paid, price_per_kg, transaction_time",
+                spec.transactions(), layout::transaction));
+            children.addAll(copy(pool, spec, 4, "bookings",
+                "id, user_id, kabadi_wala_id, pickup_address, latitude, longitude, scheduled_at, status, "
+                    + "material_type, expected_weight_kg, created_at",
+                spec.bookings(), layout::booking));
+            await("waste_transactions and bookings", children, childrenStart);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long derivedStart = System.currentTimeMillis();
+        jdbc.execute("ANALYZE users, kabadi_walas, waste_transactions, bookings");
+        kabadiRepo.recomputeLifetimeTotals();
+        citizenStats.rebuildAll();
+        rollups.rebuildAll();
+        log.info("Rebuilt lifetime totals, citizen stats and rollups in {} ms", System.currentTimeMillis() - derivedStart);
+        log.info("Synthetic data generated in {} ms: {}", System.currentTimeMillis() - start, spec);
+    }
+
+    /**
+     * Takes {@code count} consecutive ids from a pooled sequence. Hibernate treats each
+     * {@code nextval} as the top of a block of {@link #ID_POOL}, so moving the sequence past the
+     * range keeps later blocks clear of it.
+     */
+    private long reserveIds(String sequence, long count) {
+        if (count == 0) return 0;
+        long size = (count + ID_POOL - 1) / ID_POOL * ID_POOL;
+        Long last = jdbc.queryForObject("SELECT setval(CAST(? AS regclass), nextval(CAST(? AS regclass)) + ?)",
+            Long.class, sequence, sequence, size - ID_POOL);
+        return last - size + 1;
+    }
+
+    @FunctionalInterface
+    private interface RowFormat {
+        /** Appends row {@code i} in COPY text format, without the trailing newline. */
+        void append(SplittableRandom random, long i, StringBuilder row);
+    }
+
+    private List<Future<Long>> copy(ExecutorService pool, Spec spec, int table, String name, String columns,
+                                    long rows, RowFormat format) {
+        String sql = "COPY " + name + " (" + columns + ") FROM STDIN";
+        List<Future<Long>> chunks = new ArrayList<>();
+        for (long from = 0, chunk = 0; from < rows; from += chunkSize, chunk++) {
+            long first = from, end = Math.min(from + chunkSize, rows);
+            SplittableRandom random = new SplittableRandom((spec.seed() * 31 + table) * 1_000_003L + chunk);
+            chunks.add(pool.submit(() -> copyChunk(sql, first, end, random, format)));
+        }
+        return chunks;
+    }
+
+    private long copyChunk(String sql, long from, long to, SplittableRandom random, RowFormat format)
+            throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            CopyIn copy = conn.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+            try {
+                StringBuilder buf = new StringBuilder(FLUSH_BYTES + 4096);
+                for (long i = from; i < to; i++) {
+                    format.append(random, i, buf);
+                    buf.append('\n');
+                    if (buf.length() >= FLUSH_BYTES) flush(copy, buf);
+                }
+                flush(copy, buf);
+                return copy.endCopy();
+            } finally {
+                if (copy.isActive()) copy.cancelCopy();
+            }
+        }
+    }
+
+    private static void flush(CopyIn copy, StringBuilder buf) throws SQLException {
+        byte[] bytes = buf.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buf.setLength(0);
+    }
+
+    private static void await(String what, List<Future<Long>> chunks, long start) {
+        long rows = 0;
+        try {
+            for (Future<Long> f : chunks) rows += f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating " + what, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Generating " + what + " failed", e.getCause());
+        }
+        long ms = Math.max(System.currentTimeMillis() - start, 1);
+        log.info("Copied {} rows into {} in {} ms ({} rows/s)", rows, what, ms, rows * 1000 / ms);
+    }
+
+    /**
+     * Row contents. Citizens and vendors are laid out in contiguous per-city id ranges, so a
+     * transaction or booking can pick a party in the same city from a random number alone.
+     */
+    private record Layout(Spec spec, LocalDateTime now, long userBase, long vendorBase, long txBase, long bookingBase,
+                          LongFunction<String> wasteRecyclerIds, long[] userStarts, long[] vendorStarts) {
+
+        Layout(Spec spec, LocalDateTime now, long userBase, long vendorBase, long txBase, long bookingBase,
+               LongFunction<String> wasteRecyclerIds) {
+            this(spec, now, userBase, vendorBase, txBase, bookingBase, wasteRecyclerIds,
+                cityStarts(spec.users()), cityStarts(spec.vendors()));
+        }
+
+        void user(SplittableRandom r, long i, StringBuilder row) {
+            City city = CITIES.get(cityOf(userStarts, i));
+            long id = userBase + i;
+            row.append(id).append('\t')
+                .append(pick(r, FIRST_NAMES)).append(' ').append(pick(r, LAST_NAMES)).append('\t')
+                .append(mobile('6', id)).append('\t')
+                .append(wasteRecyclerIds.apply(i)).append('\t')
+                .append(1 + r.nextInt(500)).append(" Main Road").append('\t')
+                .append(city.name()).append('\t')
+                .append(pincode(r, city)).append('\t')
+                .append(pick(r, LANGUAGES)).append('\t')
+                .append(daysAgo(r, spec.days()));
+        }
+
+        void vendor(SplittableRandom r, long i, StringBuilder row) {
+            City city = CITIES.get(cityOf(vendorStarts, i));
+            long id = vendorBase + i;
+            // Gaussian spread around the centre, sigma ~6 km
+            double lat = city.latitude() + r.nextGaussian() * GeoUtils.latDelta(6);
+            double lng = city.longitude() + r.nextGaussian() * GeoUtils.lngDelta(6, city.latitude());
+            boolean priority = r.nextInt(10) == 0;
+            row.append(id).append('\t')
+                .append(pick(r, FIRST_NAMES)).append(" Scrap Traders").append('\t')
+                .append(mobile('7', id)).append('\t')
+                .append(city.name()).append(" Ward ").append(1 + r.nextInt(60)).append('\t')
+                .append("Shop ").append(1 + r.nextInt(200)).append(", Market Road").append('\t')
+                .append(pincode(r, city)).append('\t')
+                .append(r.nextInt(20) != 0 ? 't' : 'f').append('\t')
+                .append(priority ? 't' : 'f').append('\t')
+                .append(priority ? now.plusHours(1 + r.nextInt(7 * 24)).withNano(0).toString() : "\\N").append('\t')
+                .append(pick(r, LANGUAGES)).append('\t')
+                .append(daysAgo(r, spec.days())).append('\t')
+                .append(lat).append('\t').append(lng);
+        }
+
+        void transaction(SplittableRandom r, long i, StringBuilder row) {
+            int city = pickCity(r);
+            int m = r.nextInt(MATERIALS.length);
+            long weightTenths = 5 + r.nextInt(196);
+            long pricePaise = PRICE_PAISE[m][0] + r.nextInt(PRICE_PAISE[m][1] - PRICE_PAISE[m][0] + 1);
+            // About one weighing in five is a walk-in with no registered citizen
+            long user = spec.users() == 0 || r.nextInt(5) == 0 ? -1 : inCity(r, userStarts, city, false);
+            row.append(txBase + i).append('\t');
+            if (user < 0) row.append("\\N");
+            else row.append(userBase + user);
+            row.append('\t').append(vendorBase + inCity(r, vendorStarts, city, true)).append('\t')
+                .append(MATERIALS[m]).append('\t')
+                .append(weightTenths / 10).append('.').append(weightTenths % 10).append('\t');
+            appendPaise(row, (weightTenths * pricePaise + 5) / 10);
+            row.append('\t');
+            appendPaise(row, pricePaise);
+            row.append('\t').append(duringDaytime(r, spec.days()));
+        }
+
+        void booking(SplittableRandom r, long i, StringBuilder row) {
+            int cityIdx = pickCity(r);
+            City city = CITIES.get(cityIdx);
+            long user = inCity(r, userStarts, cityIdx, false);
+            int roll = r.nextInt(100);
+            // 15% still open (two thirds of those unassigned), the rest completed or cancelled
+            String status = roll < 15 ? "PENDING" : roll < 80 ? "COMPLETED" : "CANCELLED";
+            boolean assigned = !"PENDING".equals(status) || r.nextInt(3) == 0;
+            LocalDateTime created = "PENDING".equals(status)
+                ? now.minusMinutes(r.nextInt(48 * 60))
+                : now.minusMinutes(60L * 24 * 3 + r.nextInt(Math.max(spec.days() - 3, 1) * 24 * 60));
+            double lat = city.latitude() + r.nextGaussian() * GeoUtils.latDelta(6);
+            double lng = city.longitude() + r.nextGaussian() * GeoUtils.lngDelta(6, city.latitude());
+            row.append(bookingBase + i).append('\t')
+                .append(userBase + user).append('\t');
+            if (assigned && spec.vendors() > 0) row.append(vendorBase + inCity(r, vendorStarts, cityIdx, true));
+            else row.append("\\N");
+            row.append('\t')
+                .append(1 + r.nextInt(500)).append(" Main Road, ").append(city.name()).append(' ')
+                .append(pincode(r, city)).append('\t')
+                .append(lat).append('\t').append(lng).append('\t')
+                .append(created.plusHours(2 + r.nextInt(72)).withNano(0)).append('\t')
+                .append(status).append('\t')
+                .append(pick(r, MATERIALS)).append('\t')
+                .append(1 + r.nextInt(30)).append('\t')
+                .append(created.withNano(0));
+        }
+
+        /** First index of each city's range (plus the total at the end), split by city weight. */
+        private static long[] cityStarts(long total) {
+            long[] starts = new long[CITIES.size() + 1];
+            int cumulative = 0;
+            for (int c = 0; c < CITIES.size(); c++) {
+                starts[c] = total * cumulative / TOTAL_WEIGHT;
+                cumulative += CITIES.get(c).weight();
+            }
+            starts[CITIES.size()] = total;
+            return starts;
+        }
+
+        private static int cityOf(long[] starts, long i) {
+            int c = 0;
+            while (i >= starts[c + 1]) c++;
+            return c;
+        }
+
+        private static int pickCity(SplittableRandom r) {
+            int roll = r.nextInt(TOTAL_WEIGHT);
+            for (int c = 0; c < CITIES.size(); c++) {
+                roll -= CITIES.get(c).weight();
+                if (roll < 0) return c;
+            }
+            return CITIES.size() - 1;
+        }
+
+        /**
+         * An index in the city's range, or anywhere when the city has none. Vendors are skewed
+         * towards the start of the range so that a few are much busier than the rest.
+         */
+        private static long inCity(SplittableRandom r, long[] starts, int city, boolean skewed) {
+            long from = starts[city], size = starts[city + 1] - from;
+            if (size == 0) {
+                from = 0;
+                size = starts[starts.length - 1];
+            }
+            double u = r.nextDouble();
+            return from + (long) ((skewed ? u * u : u) * size);
+        }
+
+        private String daysAgo(SplittableRandom r, int days) {
+            return now.minusMinutes(r.nextInt(Math.max(days, 1) * 24 * 60)).withNano(0).toString();
+        }
+
+        /** A random day in the window, between 07:00 and 20:59, never in the future. */
+        private String duringDaytime(SplittableRandom r, int days) {
+            LocalDateTime t = now.toLocalDate().minusDays(r.nextInt(Math.max(days, 1)))
+                .atTime(7 + r.nextInt(14), r.nextInt(60), r.nextInt(60));
+            return (t.isAfter(now) ? t.minusDays(1) : t).toString();
+        }
+
+        private static String mobile(char prefix, long id) {
+            String digits = Long.toString(id % 1_000_000_000L);
+            return prefix + "0".repeat(9 - digits.length()) + digits;
+        }
+
+        private static String pincode(SplittableRandom r, City city) {
+            int n = r.nextInt(100);
+            return city.pincodePrefix() + (n < 10 ? "00" : "0") + n;
+        }
+
+        private static String pick(SplittableRandom r, String[] values) {
+            return values[r.nextInt(values.length)];
+        }
+
+        private static void appendPaise(StringBuilder row, long paise) {
+            row.append(paise / 100).append('.');
+            if (paise % 100 < 10) row.append('0');
+            row.append(paise % 100);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+-- V10: Per-day, per-material transaction rollups for vendors and citizens
+-- owner_type is KABADI or USER; month/year series are summed from these day buckets.
+CREATE TABLE IF NOT EXISTS transaction_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    owner_type VARCHAR(10) NOT NULL,
+    owner_id BIGINT NOT NULL,
+    bucket_date DATE NOT NULL,
+    material_type VARCHAR(20) NOT NULL,
+    total_weight_kg DECIMAL(14,2) NOT NULL DEFAULT 0,
+    total_amount DECIMAL(14,2) NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uq_transaction_rollups_bucket UNIQUE (owner_type, owner_id, bucket_date, material_type)
+);
+
+-- Backfill from existing transactions
+INSERT INTO transaction_rollups (owner_type, owner_id, bucket_date, material_type, total_weight_kg, total_amount, transaction_count)
+SELECT 'KABADI', kabadi_wala_id, CAST(transaction_time AS date), material_type,
+       SUM(weight_kg), SUM(COALESCE(amount_paid, 0)), COUNT(*)
+FROM waste_transactions
+GROUP BY kabadi_wala_id, CAST(transaction_time AS date), material_type;
+
+INSERT INTO transaction_rollups (owner_type, owner_id, bucket_date, material_type, total_weight_kg, total_amount, transaction_count)
+SELECT 'USER', user_id, CAST(transaction_time AS date), material_type,
+       SUM(weight_kg), SUM(COALESCE(amount_paid, 0)), COUNT(*)
+FROM waste_transactions
+WHERE user_id IS NOT NULL
+GROUP BY user_id, CAST(transaction_time AS date), material_type;
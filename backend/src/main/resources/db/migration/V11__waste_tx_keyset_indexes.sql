@@ -0,0 +1,6 @@
+-- V11: Keyset indexes for transaction history
+-- Listings page on (transaction_time, id) descending per vendor / per citizen.
+CREATE INDEX IF NOT EXISTS idx_waste_tx_kabadi_time
+    ON waste_transactions (kabadi_wala_id, transaction_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_waste_tx_user_time
+    ON waste_transactions (user_id, transaction_time DESC, id DESC);
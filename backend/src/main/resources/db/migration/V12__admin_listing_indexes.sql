@@ -0,0 +1,6 @@
+-- Admin listings: default newest-first transaction scan and exact pincode lookups
+CREATE INDEX IF NOT EXISTS idx_waste_tx_time_id
+    ON waste_transactions (transaction_time DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_users_pincode ON users (pincode);
+CREATE INDEX IF NOT EXISTS idx_kabadi_walas_pincode ON kabadi_walas (pincode);
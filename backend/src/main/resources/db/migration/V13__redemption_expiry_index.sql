@@ -0,0 +1,3 @@
+-- V13: Expiry sweeps and the next-deadline lookup only read active redemptions by valid_until
+CREATE INDEX IF NOT EXISTS idx_redemptions_active_valid_until
+    ON k_coin_redemptions (is_active, valid_until);
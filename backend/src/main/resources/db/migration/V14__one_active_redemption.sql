@@ -0,0 +1,12 @@
+-- V14: At most one active redemption per kabadi-wala, enforced by the database so
+-- concurrent redeem requests cannot stack. Older duplicates (if any) are deactivated first.
+UPDATE k_coin_redemptions r
+SET is_active = false
+WHERE is_active = true
+  AND EXISTS (
+      SELECT 1 FROM k_coin_redemptions n
+      WHERE n.kabadi_wala_id = r.kabadi_wala_id AND n.is_active = true AND n.id > r.id
+  );
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_redemptions_one_active
+    ON k_coin_redemptions (kabadi_wala_id) WHERE is_active;
@@ -0,0 +1,25 @@
+-- V15: Append-only K-coin ledger
+-- Every earn / spend / adjustment is one row. kabadi_walas.k_coins_balance becomes the folded
+-- snapshot: live balance = k_coins_balance + SUM(amount) of rows with folded_at IS NULL.
+CREATE TABLE IF NOT EXISTS kcoin_ledger (
+    id BIGSERIAL PRIMARY KEY,
+    kabadi_wala_id BIGINT NOT NULL REFERENCES kabadi_walas(id),
+    entry_type VARCHAR(10) NOT NULL CHECK (entry_type IN ('EARN', 'SPEND', 'ADJUST')),
+    amount INTEGER NOT NULL,
+    transaction_id BIGINT REFERENCES waste_transactions(id),
+    redemption_id BIGINT REFERENCES k_coin_redemptions(id),
+    business_date DATE NOT NULL,
+    reason VARCHAR(50),
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    folded_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_kcoin_ledger_vendor ON kcoin_ledger (kabadi_wala_id, id DESC);
+CREATE INDEX IF NOT EXISTS idx_kcoin_ledger_unfolded ON kcoin_ledger (kabadi_wala_id) WHERE folded_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_kcoin_ledger_day ON kcoin_ledger (kabadi_wala_id, business_date);
+
+-- Existing balances become opening adjustments, already folded into the snapshot
+INSERT INTO kcoin_ledger (kabadi_wala_id, entry_type, amount, business_date, reason, folded_at)
+SELECT id, 'ADJUST', k_coins_balance, CURRENT_DATE, 'OPENING_BALANCE', NOW()
+FROM kabadi_walas
+WHERE k_coins_balance <> 0;
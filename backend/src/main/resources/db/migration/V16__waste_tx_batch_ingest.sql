@@ -0,0 +1,12 @@
+-- V16: Batch ingestion from offline scale devices
+-- Client-generated idempotency keys make re-synced batches no-ops; keys are scoped per vendor.
+ALTER TABLE waste_transactions ADD COLUMN IF NOT EXISTS idempotency_key VARCHAR(64);
+CREATE UNIQUE INDEX IF NOT EXISTS uq_waste_tx_idempotency
+    ON waste_transactions (kabadi_wala_id, idempotency_key) WHERE idempotency_key IS NOT NULL;
+
+-- Ids now come from Hibernate's pooled optimizer (blocks of 50) so inserts can be JDBC-batched.
+-- The column default is dropped: a plain nextval() would hand out an id inside a block already
+-- reserved by the application.
+ALTER TABLE waste_transactions ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE waste_transactions_id_seq INCREMENT BY 50;
+SELECT setval('waste_transactions_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM waste_transactions));
@@ -0,0 +1,25 @@
+-- V17: Pooled id sequences for the remaining JPA-inserted tables (waste_transactions moved in V16)
+-- IDENTITY ids make Hibernate insert row by row; pooled sequences (blocks of 50) let it batch.
+-- Column defaults are dropped so a raw nextval() cannot land inside a block the application
+-- has already reserved. With is_called = false the first block is exactly (max + 1 .. max + 50).
+-- citizen_stats, transaction_rollups, admins and admin_config keep their defaults: they are
+-- filled by native upserts and migrations, not by batched JPA inserts.
+ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+SELECT setval('users_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM users), false);
+
+ALTER TABLE kabadi_walas ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE kabadi_walas_id_seq INCREMENT BY 50;
+SELECT setval('kabadi_walas_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM kabadi_walas), false);
+
+ALTER TABLE bookings ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE bookings_id_seq INCREMENT BY 50;
+SELECT setval('bookings_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM bookings), false);
+
+ALTER TABLE k_coin_redemptions ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE k_coin_redemptions_id_seq INCREMENT BY 50;
+SELECT setval('k_coin_redemptions_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM k_coin_redemptions), false);
+
+ALTER TABLE kcoin_ledger ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE kcoin_ledger_id_seq INCREMENT BY 50;
+SELECT setval('kcoin_ledger_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM kcoin_ledger), false);
@@ -0,0 +1,5 @@
+-- V18: Booking listings per citizen / per kabadi-wala, newest first
+CREATE INDEX IF NOT EXISTS idx_bookings_user_created
+    ON bookings (user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_kabadi_created
+    ON bookings (kabadi_wala_id, created_at DESC, id DESC);
@@ -0,0 +1,16 @@
+-- V19: OTP challenges move out of users / kabadi_walas
+-- Codes, attempt counters and the per-mobile send window live here (used when app.otp.store=jdbc),
+-- so OTP bursts no longer write to the account tables.
+CREATE TABLE IF NOT EXISTS otp_challenges (
+    otp_key VARCHAR(32) PRIMARY KEY,          -- <userType>:<mobile>
+    code VARCHAR(6),                          -- NULL once used
+    expires_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    window_start TIMESTAMP NOT NULL,
+    sends INT NOT NULL DEFAULT 0,
+    verified_until TIMESTAMP                  -- a verified mobile may register until then
+);
+
+-- Placeholder rows created by the old send-otp flow are kept; registration completes them.
+ALTER TABLE users DROP COLUMN IF EXISTS otp_code, DROP COLUMN IF EXISTS otp_expires_at;
+ALTER TABLE kabadi_walas DROP COLUMN IF EXISTS otp_code, DROP COLUMN IF EXISTS otp_expires_at;
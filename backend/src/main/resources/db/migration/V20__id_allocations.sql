@@ -0,0 +1,15 @@
+-- V20: Block-reserved id counters (one row per scope, e.g. 'WR-2026' for that year's waste recycler ids)
+-- next_value is the first number not yet handed to any node.
+CREATE TABLE IF NOT EXISTS id_allocations (
+    scope VARCHAR(32) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
+-- Continue after the highest id already issued (randomly) in each year
+INSERT INTO id_allocations (scope, next_value)
+SELECT 'WR-' || split_part(waste_recycler_id, '-', 2),
+       MAX(CAST(split_part(waste_recycler_id, '-', 3) AS BIGINT)) + 1
+FROM users
+WHERE waste_recycler_id ~ '^WR-[0-9]{4}-[0-9]+$'
+GROUP BY split_part(waste_recycler_id, '-', 2)
+ON CONFLICT (scope) DO NOTHING;
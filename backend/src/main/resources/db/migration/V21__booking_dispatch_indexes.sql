@@ -0,0 +1,8 @@
+-- V21: Booking auto-dispatch. Unassigned PENDING bookings are scanned in id order (index-only,
+-- coordinates included) and each vendor's PENDING load is counted every pass.
+CREATE INDEX IF NOT EXISTS idx_bookings_pending_unassigned
+    ON bookings (id) INCLUDE (latitude, longitude)
+    WHERE status = 'PENDING' AND kabadi_wala_id IS NULL;
+CREATE INDEX IF NOT EXISTS idx_bookings_pending_by_vendor
+    ON bookings (kabadi_wala_id)
+    WHERE status = 'PENDING' AND kabadi_wala_id IS NOT NULL;
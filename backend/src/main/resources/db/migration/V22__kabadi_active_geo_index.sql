@@ -0,0 +1,6 @@
+-- V22: The nearby and top-K queries filter is_active plus a lat/lng box but not priority_active,
+-- so V7's (is_active, priority_active, latitude, longitude) only gives them an is_active prefix
+-- (no skip scan). Active vendors get their own box index; V7 stays for the priority lookup.
+CREATE INDEX IF NOT EXISTS idx_kabadi_walas_active_geo
+    ON kabadi_walas (latitude, longitude)
+    WHERE is_active = true;
@@ -0,0 +1,5 @@
+-- V7: Index kabadi-wala discovery
+-- The nearby/priority queries now filter on a lat/lng bounding box before computing
+-- the exact distance, so a composite btree can narrow the scan to the search area.
+CREATE INDEX IF NOT EXISTS idx_kabadi_walas_discovery
+    ON kabadi_walas (is_active, priority_active, latitude, longitude);
@@ -0,0 +1,17 @@
+-- V8: Lifetime collection counters on kabadi_walas
+-- Maintained by TransactionService.logTransaction so the dashboard no longer sums
+-- every transaction a vendor has logged.
+ALTER TABLE kabadi_walas
+    ADD COLUMN IF NOT EXISTS total_collected_kg DECIMAL(12,2) NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS transaction_count BIGINT NOT NULL DEFAULT 0;
+
+-- Backfill from existing transactions
+UPDATE kabadi_walas k
+SET total_collected_kg = t.total_kg,
+    transaction_count  = t.tx_count
+FROM (
+    SELECT kabadi_wala_id, SUM(weight_kg) AS total_kg, COUNT(*) AS tx_count
+    FROM waste_transactions
+    GROUP BY kabadi_wala_id
+) t
+WHERE t.kabadi_wala_id = k.id;
@@ -0,0 +1,28 @@
+-- V9: Pre-rolled per-citizen stats
+-- One row per (user, period): LIFETIME (period_start = 1970-01-01), YEAR, MONTH and DAY.
+-- Maintained incrementally by TransactionService.logTransaction.
+CREATE TABLE IF NOT EXISTS citizen_stats (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    period_type VARCHAR(10) NOT NULL,
+    period_start DATE NOT NULL,
+    total_earnings DECIMAL(14,2) NOT NULL DEFAULT 0,
+    total_weight_kg DECIMAL(14,2) NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uq_citizen_stats_period UNIQUE (user_id, period_type, period_start)
+);
+
+-- Backfill from existing transactions
+INSERT INTO citizen_stats (user_id, period_type, period_start, total_earnings, total_weight_kg, transaction_count)
+SELECT user_id, p.period_type,
+       CASE p.period_type
+           WHEN 'LIFETIME' THEN DATE '1970-01-01'
+           WHEN 'YEAR'     THEN date_trunc('year',  t.transaction_time)::date
+           WHEN 'MONTH'    THEN date_trunc('month', t.transaction_time)::date
+           ELSE t.transaction_time::date
+       END AS period_start,
+       SUM(COALESCE(t.amount_paid, 0)), SUM(t.weight_kg), COUNT(*)
+FROM waste_transactions t
+CROSS JOIN (VALUES ('LIFETIME'), ('YEAR'), ('MONTH'), ('DAY')) AS p(period_type)
+WHERE t.user_id IS NOT NULL
+GROUP BY user_id, p.period_type, 3;
@@ -0,0 +1,60 @@
+package com.kabadi.service;
+
+import com.kabadi.PostgresIntegrationTest;
+import com.kabadi.model.dto.AdminListFilter;
+import com.kabadi.model.dto.TransactionRequest;
+import com.kabadi.model.entity.KabadiWala;
+import com.kabadi.model.response.AdminKabadiResponse;
+import com.kabadi.repository.KabadiWalaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminKabadiListingTest extends PostgresIntegrationTest {
+
+    @Autowired AdminService admin;
+    @Autowired TransactionService transactions;
+    @Autowired KCoinLedgerService ledger;
+    @Autowired KabadiWalaRepository kabadiRepo;
+
+    @Test
+    void listingShowsTheLiveBalanceWithoutTouchingTheSnapshot() {
+        Long vendorId = kabadiRepo.save(KabadiWala.builder().name("Listing KW").mobile("7900000201").build()).getId();
+        TransactionRequest req = new TransactionRequest();
+        req.setKabadiWalaId(vendorId);
+        req.setMaterialType("PAPER");
+        req.setWeightKg(BigDecimal.valueOf(40));
+        req.setPricePerKg(BigDecimal.TEN);
+        transactions.logTransaction(req);
+        int live = ledger.balanceOf(vendorId);
+        assertThat(live).isPositive();
+
+        // Unfolded: the row adds the ledger tail, the stored snapshot is untouched
+        assertThat(row(vendorId).getLiveKCoinBalance()).isEqualTo(live);
+        assertThat(kabadiRepo.findById(vendorId).orElseThrow().getKCoinsBalance()).isZero();
+
+        // Folded: the tail moves into the snapshot and the row stays the same
+        ledger.fold();
+        assertThat(row(vendorId).getLiveKCoinBalance()).isEqualTo(live);
+        assertThat(kabadiRepo.findById(vendorId).orElseThrow().getKCoinsBalance()).isEqualTo(live);
+    }
+
+    @Test
+    void balanceSortStillAppliesToTheRowQuery() {
+        // The sort is on the snapshot; with nothing unfolded it matches the live order
+        ledger.fold();
+        AdminListFilter all = new AdminListFilter();
+        assertThat(admin.getKabadis(all, 0, 5, "kCoinsBalance", "desc").getItems())
+            .extracting(AdminKabadiResponse::getLiveKCoinBalance).isSortedAccordingTo((a, b) -> b - a);
+    }
+
+    private AdminKabadiResponse row(Long vendorId) {
+        AdminListFilter f = new AdminListFilter();
+        f.setMobile("7900000201");
+        return admin.getKabadis(f, 0, 10, null, null).getItems().stream()
+            .filter(r -> r.getId().equals(vendorId)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,116 @@
+package com.kabadi.service;
+
+import com.kabadi.PostgresIntegrationTest;
+import com.kabadi.exception.BadRequestException;
+import com.kabadi.model.dto.RedeemRequest;
+import com.kabadi.model.dto.TransactionRequest;
+import com.kabadi.model.entity.KabadiWala;
+import com.kabadi.repository.KabadiWalaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many scale operators logging for one vendor at once, with redemptions racing them: every
+ * kilogram and every coin must be accounted for, and at most one redemption may win. Logging
+ * contends only on the vendor-row UPDATE, so concurrent throughput must not fall below a
+ * fraction of one thread logging alone (redemptions take the row lock via findByIdForUpdate).
+ */
+@Slf4j
+class KCoinConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int LOGS_PER_THREAD = 25;
+    private static final int BASELINE_LOGS = 100;
+    /** Loose on purpose: catches contention collapse (lock convoys, retries), not small slowdowns. */
+    private static final double MIN_THROUGHPUT_VS_BASELINE = 0.5;
+
+    @Autowired TransactionService transactions;
+    @Autowired KabadiService kabadis;
+    @Autowired KCoinLedgerService ledger;
+    @Autowired KabadiWalaRepository kabadiRepo;
+    @Autowired AdminConfigCache config;
+
+    @Test
+    void concurrentLogsAndRedemptionsLoseNoCoins() throws Exception {
+        double baseline = singleThreadedLogsPerSecond();
+        Long vendorId = kabadiRepo.save(KabadiWala.builder().name("Stress KW").mobile("7900000001").build()).getId();
+        AtomicInteger earned = new AtomicInteger();
+        AtomicInteger redeemed = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean redeemer = t % 4 == 0;
+            workers.add(pool.submit(() -> {
+                go.await();
+                for (int i = 0; i < LOGS_PER_THREAD; i++) {
+                    earned.addAndGet((Integer) transactions.logTransaction(oneKg(vendorId)).get("kCoinsEarned"));
+                    if (redeemer) redeem(vendorId, redeemed);
+                }
+                return null;
+            }));
+        }
+        long start = System.nanoTime();
+        go.countDown();
+        for (Future<?> w : workers) w.get(2, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        double rate = THREADS * LOGS_PER_THREAD / seconds;
+        log.info("{} logs for one vendor in {} s ({} logs/s, single-threaded baseline {} logs/s)",
+            THREADS * LOGS_PER_THREAD, String.format("%.2f", seconds), Math.round(rate), Math.round(baseline));
+        assertThat(rate).isGreaterThanOrEqualTo(baseline * MIN_THROUGHPUT_VS_BASELINE);
+
+        BigDecimal totalKg = BigDecimal.valueOf(THREADS * LOGS_PER_THREAD);
+        int expectedCoins = TransactionService.coinsFor(totalKg,
+            BigDecimal.valueOf(config.dailyUnlockThresholdKg()), BigDecimal.valueOf(config.kcoinsPerExtraKg()));
+
+        KabadiWala kw = kabadiRepo.findById(vendorId).orElseThrow();
+        assertThat(kw.dailyCollectedKgOn(LocalDate.now())).isEqualByComparingTo(totalKg);
+        assertThat(kw.getTransactionCount()).isEqualTo(THREADS * LOGS_PER_THREAD);
+        assertThat(earned.get()).isEqualTo(expectedCoins);
+        // Only one redemption can be active at a time, and none has expired during the test
+        assertThat(redeemed.get()).isLessThanOrEqualTo(1);
+        assertThat(ledger.balanceOf(vendorId))
+            .isEqualTo(expectedCoins - redeemed.get() * config.redemptionThresholdCoins());
+    }
+
+    /** One thread logging alone for its own vendor, after a warm-up of the same size. */
+    private double singleThreadedLogsPerSecond() {
+        Long vendorId = kabadiRepo.save(KabadiWala.builder().name("Baseline KW").mobile("7900000002").build()).getId();
+        for (int i = 0; i < BASELINE_LOGS; i++) transactions.logTransaction(oneKg(vendorId));
+        long start = System.nanoTime();
+        for (int i = 0; i < BASELINE_LOGS; i++) transactions.logTransaction(oneKg(vendorId));
+        return BASELINE_LOGS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private void redeem(Long vendorId, AtomicInteger redeemed) {
+        RedeemRequest req = new RedeemRequest();
+        req.setSelectedCommodity("PLASTIC");
+        try {
+            kabadis.redeemKCoins(vendorId, req);
+            redeemed.incrementAndGet();
+        } catch (BadRequestException e) {
+            // not enough coins yet, or another redemption is already active
+        }
+    }
+
+    private static TransactionRequest oneKg(Long vendorId) {
+        TransactionRequest req = new TransactionRequest();
+        req.setKabadiWalaId(vendorId);
+        req.setMaterialType("PLASTIC");
+        req.setWeightKg(BigDecimal.ONE);
+        req.setPricePerKg(BigDecimal.TEN);
+        return req;
+    }
+}
@@ -0,0 +1,41 @@
+package com.kabadi.service;
+
+import com.kabadi.exception.BadRequestException;
+import com.kabadi.repository.KCoinLedgerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class KCoinLedgerServiceTest {
+
+    private static final LocalDate ROLLOUT = LocalDate.of(2026, 3, 1);
+
+    private final KCoinLedgerRepository ledgerRepo = mock(KCoinLedgerRepository.class);
+    private final KCoinLedgerService ledger =
+        new KCoinLedgerService(ledgerRepo, mock(AdminConfigCache.class), new SimpleMeterRegistry());
+
+    @Test
+    void replayRefusesDaysCoveredByTheOpeningBalance() {
+        when(ledgerRepo.findLedgerStartDate()).thenReturn(ROLLOUT);
+
+        assertThatThrownBy(() -> ledger.replay(ROLLOUT, true)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> ledger.replay(ROLLOUT.minusYears(1), false)).isInstanceOf(BadRequestException.class);
+        verify(ledgerRepo, never()).findReplayDiffs(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void replayRunsFromTheDayAfterRollout() {
+        when(ledgerRepo.findLedgerStartDate()).thenReturn(ROLLOUT);
+        when(ledgerRepo.findReplayDiffs(any(), anyInt(), anyInt())).thenReturn(List.of());
+
+        assertThat(ledger.replay(ROLLOUT.plusDays(1), false)).containsEntry("netCoins", 0);
+        verify(ledgerRepo).findReplayDiffs(eq(ROLLOUT.plusDays(1).atStartOfDay()), anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,84 @@
+package com.kabadi.service;
+
+import com.kabadi.model.entity.KabadiWala;
+import com.kabadi.repository.KabadiWalaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KabadiGeoIndexTest {
+
+    private static final double LAT = 28.6139, LNG = 77.2090;
+
+    private final KabadiWalaRepository repo = mock(KabadiWalaRepository.class);
+    private final KabadiGeoIndex index = new KabadiGeoIndex(repo);
+
+    @BeforeEach
+    void enable() {
+        ReflectionTestUtils.setField(index, "enabled", true);
+    }
+
+    @Test
+    void upsertDuringRebuildSurvivesTheSwap() {
+        KabadiWala stale = vendor(1L, LAT, LNG, true);
+        when(repo.findAllActiveWithLocation()).thenAnswer(inv -> {
+            // Commits while the table is being read: the rebuild's snapshot still has the old row
+            index.upsert(vendor(1L, LAT + 0.1, LNG, true));
+            return List.of(stale);
+        });
+
+        index.rebuild();
+
+        assertThat(index.withinRadius(LAT, LNG, 1, false)).isEmpty();
+        assertThat(index.withinRadius(LAT + 0.1, LNG, 1, false))
+            .extracting(h -> h.entry().id()).containsExactly(1L);
+    }
+
+    @Test
+    void deactivationDuringRebuildSurvivesTheSwap() {
+        when(repo.findAllActiveWithLocation()).thenAnswer(inv -> {
+            index.upsert(vendor(2L, LAT, LNG, false));
+            return List.of(vendor(2L, LAT, LNG, true));
+        });
+
+        index.rebuild();
+
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void upsertAfterRebuildIsNotReplayedIntoTheNextOne() {
+        when(repo.findAllActiveWithLocation()).thenReturn(List.of());
+        index.rebuild();
+        index.upsert(vendor(3L, LAT, LNG, true));
+
+        when(repo.findAllActiveWithLocation()).thenReturn(List.of());
+        index.rebuild();
+
+        // The table is the source of truth once nothing raced the read
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void rejectsUnusableQueriesWithoutScanning() {
+        when(repo.findAllActiveWithLocation()).thenReturn(List.of(vendor(4L, LAT, LNG, true)));
+        index.rebuild();
+
+        assertThat(index.withinRadius(1e300, LNG, 5, false)).isEmpty();
+        assertThat(index.nearest(Double.POSITIVE_INFINITY, LNG, 5, 10, -1, 0, false)).isEmpty();
+        assertThat(index.nearest(LAT, Double.NaN, 5, 10, -1, 0, false)).isEmpty();
+        // Radius is clamped, not rejected: the vendor at the centre is still found
+        assertThat(index.nearest(LAT, LNG, 20_000, 10, -1, 0, false)).hasSize(1);
+    }
+
+    private static KabadiWala vendor(Long id, double lat, double lng, boolean active) {
+        return KabadiWala.builder().id(id).name("KW " + id).mobile("70000000" + id)
+            .isActive(active).latitude(lat).longitude(lng).build();
+    }
+}
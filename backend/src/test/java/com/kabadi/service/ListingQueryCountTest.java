@@ -0,0 +1,97 @@
+package com.kabadi.service;
+
+import com.kabadi.PostgresIntegrationTest;
+import com.kabadi.model.dto.AdminListFilter;
+import com.kabadi.model.dto.BookingRequest;
+import com.kabadi.model.dto.TransactionRequest;
+import com.kabadi.model.entity.KabadiWala;
+import com.kabadi.model.entity.User;
+import com.kabadi.repository.KabadiWalaRepository;
+import com.kabadi.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listings read flat rows in a fixed number of statements, however many distinct citizens and
+ * vendors the rows point at: a lazy parent touched per row would show up as one select each.
+ */
+class ListingQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int PARENTS = 4;
+
+    @Autowired TransactionService transactions;
+    @Autowired BookingService bookings;
+    @Autowired AdminService admin;
+    @Autowired UserRepository userRepo;
+    @Autowired KabadiWalaRepository kabadiRepo;
+    @Autowired EntityManagerFactory emf;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> vendorIds = new ArrayList<>();
+    private Statistics stats;
+
+    @BeforeEach
+    void seed() {
+        String run = String.valueOf(System.nanoTime() % 100_000);
+        for (int i = 0; i < PARENTS; i++) {
+            userIds.add(userRepo.save(User.builder().name("QC citizen " + i).mobile("81" + run + "0" + i).build()).getId());
+            vendorIds.add(kabadiRepo.save(KabadiWala.builder().name("QC KW " + i).mobile("82" + run + "0" + i).build()).getId());
+        }
+        // Every citizen deals with every vendor, so each list below spans several parents
+        for (Long userId : userIds) {
+            for (Long vendorId : vendorIds) {
+                TransactionRequest tx = new TransactionRequest();
+                tx.setUserId(userId);
+                tx.setKabadiWalaId(vendorId);
+                tx.setMaterialType("PAPER");
+                tx.setWeightKg(BigDecimal.valueOf(2));
+                tx.setPricePerKg(BigDecimal.TEN);
+                transactions.logTransaction(tx);
+
+                BookingRequest booking = new BookingRequest();
+                booking.setUserId(userId);
+                booking.setKabadiWalaId(vendorId);
+                booking.setPickupAddress("QC street");
+                bookings.createBooking(booking);
+            }
+        }
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void kabadiBookingsTakeOneStatement() {
+        assertThat(statements(() -> bookings.getKabadiBookings(vendorIds.get(0)))).isEqualTo(1);
+    }
+
+    @Test
+    void userTransactionsTakeOneStatement() {
+        assertThat(statements(() -> transactions.getUserTransactions(userIds.get(0), null, null, null))).isEqualTo(1);
+    }
+
+    @Test
+    void adminListingsTakeAFixedNumberOfStatements() {
+        AdminListFilter all = new AdminListFilter();
+        assertThat(statements(() -> admin.getUsers(all, 0, 50, null, null))).isEqualTo(1);
+        assertThat(statements(() -> admin.getTransactions(all, 0, 50, null, null))).isEqualTo(1);
+        // Live balances come from a correlated sum inside the page query
+        assertThat(statements(() -> admin.getKabadis(all, 0, 50, null, null))).isEqualTo(1);
+    }
+
+    private long statements(Supplier<?> call) {
+        stats.clear();
+        Object result = call.get();
+        assertThat(result).isNotNull();
+        return stats.getPrepareStatementCount();
+    }
+}
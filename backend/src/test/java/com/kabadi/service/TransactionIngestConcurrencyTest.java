@@ -0,0 +1,101 @@
+package com.kabadi.service;
+
+import com.kabadi.PostgresIntegrationTest;
+import com.kabadi.model.dto.TransactionRequest;
+import com.kabadi.model.entity.KabadiWala;
+import com.kabadi.repository.KabadiWalaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ingest takes no vendor lock up front: re-synced keys are settled by the unique index and the
+ * K-coin settlement is ordered by the vendor-row UPDATE. Both must still count every weighing once.
+ */
+class TransactionIngestConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired TransactionService transactions;
+    @Autowired KCoinLedgerService ledger;
+    @Autowired KabadiWalaRepository kabadiRepo;
+    @Autowired AdminConfigCache config;
+
+    @Test
+    void concurrentResyncsOfOneBatchLogItOnce() throws Exception {
+        Long vendorId = vendor("7900000101");
+        LocalDateTime yesterday = LocalDate.now().minusDays(1).atTime(12, 0);
+        List<TransactionRequest> batch = new ArrayList<>();
+        for (int i = 0; i < 25; i++) batch.add(oneKg(vendorId, "today-" + i, null));
+        for (int i = 0; i < 25; i++) batch.add(oneKg(vendorId, "yesterday-" + i, yesterday.plusMinutes(i)));
+
+        List<Object> created = race(t -> transactions.logBatch(batch).get("created"));
+
+        assertThat(created.stream().mapToInt(c -> (Integer) c).sum()).isEqualTo(batch.size());
+        KabadiWala kw = kabadiRepo.findById(vendorId).orElseThrow();
+        assertThat(kw.dailyCollectedKgOn(LocalDate.now())).isEqualByComparingTo("25");
+        assertThat(kw.getTransactionCount()).isEqualTo(batch.size());
+        assertThat(ledger.balanceOf(vendorId)).isEqualTo(2 * coinsFor(25));
+    }
+
+    @Test
+    void concurrentLatePastDaySyncsEarnOnTheCombinedDay() throws Exception {
+        Long vendorId = vendor("7900000102");
+        LocalDateTime yesterday = LocalDate.now().minusDays(1).atTime(9, 0);
+
+        race(t -> {
+            List<TransactionRequest> batch = new ArrayList<>();
+            for (int i = 0; i < 10; i++) batch.add(oneKg(vendorId, "t" + t + "-" + i, yesterday.plusMinutes(t * 10 + i)));
+            return transactions.logBatch(batch);
+        });
+
+        assertThat(ledger.balanceOf(vendorId)).isEqualTo(coinsFor(THREADS * 10));
+    }
+
+    private List<Object> race(IntFunction<Object> work) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                go.await();
+                return work.apply(thread);
+            }));
+        }
+        go.countDown();
+        List<Object> results = new ArrayList<>();
+        for (Future<Object> f : futures) results.add(f.get(2, TimeUnit.MINUTES));
+        pool.shutdown();
+        return results;
+    }
+
+    private int coinsFor(int kg) {
+        return TransactionService.coinsFor(BigDecimal.valueOf(kg),
+            BigDecimal.valueOf(config.dailyUnlockThresholdKg()), BigDecimal.valueOf(config.kcoinsPerExtraKg()));
+    }
+
+    private Long vendor(String mobile) {
+        return kabadiRepo.save(KabadiWala.builder().name("Ingest KW " + mobile).mobile(mobile).build()).getId();
+    }
+
+    private static TransactionRequest oneKg(Long vendorId, String key, LocalDateTime recordedAt) {
+        TransactionRequest req = new TransactionRequest();
+        req.setKabadiWalaId(vendorId);
+        req.setMaterialType("METAL");
+        req.setWeightKg(BigDecimal.ONE);
+        req.setPricePerKg(BigDecimal.TEN);
+        req.setIdempotencyKey(key);
+        req.setRecordedAt(recordedAt);
+        return req;
+    }
+}
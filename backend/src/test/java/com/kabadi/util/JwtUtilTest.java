@@ -0,0 +1,61 @@
+package com.kabadi.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private final JwtUtil jwt = new JwtUtil();
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(jwt, "secret", SECRET);
+        ReflectionTestUtils.setField(jwt, "expirationMs", 60_000L);
+        ReflectionTestUtils.setField(jwt, "cacheSize", 2);
+        jwt.init();
+    }
+
+    @Test
+    void validTokenAuthenticates() {
+        JwtUtil.Principal p = jwt.authenticate(jwt.generateToken(7L, "KABADI", "KW", "en"));
+
+        assertThat(p.userId()).isEqualTo(7L);
+        assertThat(p.userType()).isEqualTo("KABADI");
+    }
+
+    @Test
+    void signedTokenWithoutUserIdIsRejected() {
+        String token = Jwts.builder().claims(Map.of("userType", "CITIZEN"))
+            .expiration(new Date(System.currentTimeMillis() + 60_000))
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+
+        assertThat(jwt.authenticate(token)).isNull();
+    }
+
+    @Test
+    void moreLiveTokensThanTheCacheHoldsStillAuthenticate() {
+        for (long id = 1; id <= 20; id++) {
+            String token = jwt.generateToken(id, "CITIZEN", "C" + id, "en");
+            assertThat(jwt.authenticate(token).userId()).isEqualTo(id);
+            assertThat(jwt.authenticate(token).userId()).isEqualTo(id);
+        }
+    }
+
+    @Test
+    void garbageIsRejected() {
+        assertThat(jwt.authenticate("not.a.jwt")).isNull();
+        assertThat(jwt.authenticate("")).isNull();
+    }
+}
@@ -1,8 +1,10 @@
 import api from './axiosConfig.js'
 
 export const getAdminOverview = () => api.get('/admin/overview')
-export const getAdminUsers = () => api.get('/admin/users')
-export const getAdminKabadis = () => api.get('/admin/kabadis')
-export const getAdminTransactions = () => api.get('/admin/transactions')
+export const getAdminUsers = (params = {}) => api.get('/admin/users', { params })
+export const getAdminKabadis = (params = {}) => api.get('/admin/kabadis', { params })
+export const getAdminTransactions = (params = {}) => api.get('/admin/transactions', { params })
+export const exportAdminData = (dataset, format, params = {}) =>
+    api.get(`/admin/export/${dataset}`, { params: { format, ...params }, responseType: 'blob' })
 export const getAdminConfig = () => api.get('/admin/config')
 export const updateAdminConfig = (key, value) => api.put('/admin/config', { key, value })
@@ -3,7 +3,8 @@ import api from './axiosConfig.js'
 export const getKabadiProfile = () => api.get('/kabadi/profile')
 export const updateKabadiProfile = (data) => api.put('/kabadi/profile', data)
 export const getKabadiDashboard = (filter) => api.get('/kabadi/dashboard', { params: { filter } })
-export const getKabadiTransactions = (filter) => api.get('/kabadi/transactions', { params: { filter } })
+export const getKabadiTransactions = (filter, before) => api.get('/kabadi/transactions', { params: { filter, before } })
+export const getKabadiTransactionSeries = (filter, granularity) => api.get('/kabadi/transactions/series', { params: { filter, granularity } })
 export const getKCoins = () => api.get('/kabadi/kcoins')
 export const redeemKCoins = (data) => api.post('/kabadi/kcoins/redeem', data)
 export const getPriorityKabadi = (lat, lng) => api.get('/kabadi/priority', { params: { lat, lng } })
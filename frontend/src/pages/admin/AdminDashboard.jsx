@@ -1,12 +1,13 @@
 import { useState, useEffect } from 'react'
 import { useTranslation } from 'react-i18next'
 import toast from 'react-hot-toast'
-import { getAdminOverview, getAdminUsers, getAdminKabadis, getAdminTransactions, getAdminConfig, updateAdminConfig } from '../../api/adminApi.js'
+import { getAdminOverview, getAdminUsers, getAdminKabadis, getAdminTransactions, exportAdminData, getAdminConfig, updateAdminConfig } from '../../api/adminApi.js'
 import { useAuth } from '../../context/AuthContext.jsx'
 import Navbar from '../../components/Navbar.jsx'
 import { motion, AnimatePresence } from 'framer-motion'
 
 const TABS = ['overview', 'users', 'kabadis', 'transactions', 'config']
+const LISTS = { users: getAdminUsers, kabadis: getAdminKabadis, transactions: getAdminTransactions }
 
 export default function AdminDashboard() {
     const { t } = useTranslation()
@@ -18,12 +19,51 @@ export default function AdminDashboard() {
     const [txs, setTxs] = useState([])
     const [config, setConfig] = useState([])
     const [editConfig, setEditConfig] = useState({})
+    const [search, setSearch] = useState('')
+    const [nextPage, setNextPage] = useState(null)
+
+    // Listings are paged server-side; page 0 replaces the rows, later pages append
+    const loadList = (which, page = 0, q = search) => {
+        const set = { users: setUsers, kabadis: setKabadis, transactions: setTxs }[which]
+        const params = { page, ...(q && which !== 'transactions' ? { q } : {}) }
+        LISTS[which](params).then(r => {
+            const d = r.data.data || {}
+            set(prev => page === 0 ? (d.items || []) : [...prev, ...(d.items || [])])
+            setNextPage(d.hasNext ? page + 1 : null)
+        })
+    }
+
+    const download = async (which, format) => {
+        try {
+            const res = await exportAdminData(which, format, search && which !== 'transactions' ? { q: search } : {})
+            const url = URL.createObjectURL(res.data)
+            const a = document.createElement('a')
+            a.href = url
+            a.download = `${which}.${format}`
+            a.click()
+            URL.revokeObjectURL(url)
+        } catch { toast.error(t('toast.error')) }
+    }
+
+    const toolbar = (which) => (
+        <div style={{ display: 'flex', gap: '0.5rem', flexWrap: 'wrap', marginBottom: '1rem' }}>
+            {which !== 'transactions' && (
+                <input className="input" style={{ flex: 1, minWidth: 180 }} placeholder="Search by name" value={search}
+                    onChange={e => setSearch(e.target.value)} onKeyDown={e => e.key === 'Enter' && loadList(which, 0)} />
+            )}
+            <button className="btn btn-ghost" onClick={() => download(which, 'csv')}>Export CSV</button>
+            <button className="btn btn-ghost" onClick={() => download(which, 'ndjson')}>Export NDJSON</button>
+        </div>
+    )
+
+    const loadMore = (which) => nextPage !== null && (
+        <button className="btn btn-ghost" style={{ marginTop: '1rem' }} onClick={() => loadList(which, nextPage)}>Load more</button>
+    )
 
     useEffect(() => { getAdminOverview().then(r => setOverview(r.data.data)) }, [])
     useEffect(() => {
-        if (tab === 'users') getAdminUsers().then(r => setUsers(r.data.data || []))
-        if (tab === 'kabadis') getAdminKabadis().then(r => setKabadis(r.data.data || []))
-        if (tab === 'transactions') getAdminTransactions().then(r => setTxs(r.data.data || []))
+        setNextPage(null)
+        if (LISTS[tab]) { setSearch(''); loadList(tab, 0, '') }
         if (tab === 'config') getAdminConfig().then(r => { setConfig(r.data.data || []); const e = {}; r.data.data?.forEach(c => { e[c.configKey] = c.configValue }); setEditConfig(e) })
     }, [tab])
 
@@ -61,6 +101,7 @@ export default function AdminDashboard() {
                         {tab === 'users' && (
                             <motion.div key="us" initial={{ opacity: 0 }} animate={{ opacity: 1 }} exit={{ opacity: 0 }} className="card">
                                 <h3 className="section-title">{t('admin.users')}</h3>
+                                {toolbar('users')}
                                 <div className="table-wrap">
                                     <table>
                                         <thead><tr><th>ID</th><th>Name</th><th>Mobile</th><th>Waste-Recycler ID</th><th>Pincode</th></tr></thead>
@@ -69,25 +110,29 @@ export default function AdminDashboard() {
                                         ))}</tbody>
                                     </table>
                                 </div>
+                                {loadMore('users')}
                             </motion.div>
                         )}
                         {tab === 'kabadis' && (
                             <motion.div key="kab" initial={{ opacity: 0 }} animate={{ opacity: 1 }} exit={{ opacity: 0 }} className="card">
                                 <h3 className="section-title">{t('admin.kabadis')}</h3>
+                                {toolbar('kabadis')}
                                 <div className="table-wrap">
                                     <table>
                                         <thead><tr><th>ID</th><th>Name</th><th>Mobile</th><th>Area</th><th>K-Coins</th><th>Priority</th></tr></thead>
                                         <tbody>{kabadis.map(k => (
-                                            <tr key={k.id}><td>{k.id}</td><td>{k.name}</td><td>{k.mobile}</td><td>{k.area}</td><td>{k.kCoinsBalance}</td>
+                                            <tr key={k.id}><td>{k.id}</td><td>{k.name}</td><td>{k.mobile}</td><td>{k.area}</td><td>{k.liveKCoinBalance}</td>
                                                 <td>{k.priorityActive ? <span className="chip chip-warning">⭐ Active</span> : '—'}</td></tr>
                                         ))}</tbody>
                                     </table>
                                 </div>
+                                {loadMore('kabadis')}
                             </motion.div>
                         )}
                         {tab === 'transactions' && (
                             <motion.div key="tx" initial={{ opacity: 0 }} animate={{ opacity: 1 }} exit={{ opacity: 0 }} className="card">
                                 <h3 className="section-title">{t('admin.transactions')}</h3>
+                                {toolbar('transactions')}
                                 <div className="table-wrap">
                                     <table>
                                         <thead><tr><th>ID</th><th>Material</th><th>Weight</th><th>Amount</th><th>Date</th></tr></thead>
@@ -97,6 +142,7 @@ export default function AdminDashboard() {
                                         ))}</tbody>
                                     </table>
                                 </div>
+                                {loadMore('transactions')}
                             </motion.div>
                         )}
                         {tab === 'config' && (
@@ -11,6 +11,7 @@ export default function CitizenDashboard() {
     const { auth } = useAuth()
     const [stats, setStats] = useState(null)
     const [txs, setTxs] = useState([])
+    const [txCursor, setTxCursor] = useState(null)
     const [filter, setFilter] = useState('monthly')
     const [loading, setLoading] = useState(true)
 
@@ -23,11 +24,20 @@ export default function CitizenDashboard() {
         try {
             const [statsRes, txRes] = await Promise.all([getCitizenDashboard(filter), getCitizenTransactions(filter)])
             setStats(statsRes.data.data)
-            setTxs(txRes.data.data || [])
+            setTxs(txRes.data.data?.items || [])
+            setTxCursor(txRes.data.data?.nextCursor || null)
         } catch { toast.error(t('toast.error')) }
         finally { setLoading(false) }
     }
 
+    const loadMore = async () => {
+        try {
+            const res = await getCitizenTransactions(filter, txCursor)
+            setTxs(prev => [...prev, ...(res.data.data?.items || [])])
+            setTxCursor(res.data.data?.nextCursor || null)
+        } catch { toast.error(t('toast.error')) }
+    }
+
     const MATERIAL_ICONS = { PLASTIC: '🧴', PAPER: '📄', METAL: '🔩', GLASS: '🪟', E_WASTE: '💻' }
 
     return (
@@ -76,12 +86,15 @@ export default function CitizenDashboard() {
                                             <td>{MATERIAL_ICONS[tx.materialType] || ''} {tx.materialType}</td>
                                             <td>{tx.weightKg} kg</td>
                                             <td>₹{tx.amountPaid?.toFixed(2)}</td>
-                                            <td>{tx.kabadiWala?.name || '-'}</td>
+                                            <td>{tx.kabadiWalaName || '-'}</td>
                                         </tr>
                                     ))}</tbody>
                                 </table>
                             </div>
                         )}
+                        {!loading && txCursor && (
+                            <button className="btn btn-ghost" style={{ marginTop: '1rem' }} onClick={loadMore}>Load more</button>
+                        )}
                     </div>
                 </motion.div>
             </div>
@@ -17,6 +17,7 @@ export default function KabadiDashboard() {
     const [tab, setTab] = useState('overview')
     const [stats, setStats] = useState(null)
     const [txs, setTxs] = useState([])
+    const [txCursor, setTxCursor] = useState(null)
     const [bookings, setBookings] = useState([])
     const [kcoins, setKcoins] = useState(null)
     const [filter, setFilter] = useState('monthly')
@@ -36,13 +37,22 @@ export default function KabadiDashboard() {
                 getKCoins()
             ])
             setStats(s.data.data)
-            setTxs(tx.data.data || [])
+            setTxs(tx.data.data?.items || [])
+            setTxCursor(tx.data.data?.nextCursor || null)
             setBookings(bk.data.data || [])
             setKcoins(kc.data.data)
         } catch { toast.error(t('toast.error')) }
         finally { setLoading(false) }
     }
 
+    const loadMoreTxs = async () => {
+        try {
+            const res = await getKabadiTransactions(filter, txCursor)
+            setTxs(prev => [...prev, ...(res.data.data?.items || [])])
+            setTxCursor(res.data.data?.nextCursor || null)
+        } catch { toast.error(t('toast.error')) }
+    }
+
     const handleRedeem = async () => {
         if (!commodity) return toast.error('Select a commodity')
         try {
@@ -128,11 +138,14 @@ export default function KabadiDashboard() {
                                                 <td>{MATERIAL_ICONS[tx.materialType]} {tx.materialType}</td>
                                                 <td>{tx.weightKg} kg</td>
                                                 <td>₹{tx.amountPaid?.toFixed(2)}</td>
-                                                <td>{tx.user?.name || 'Walk-in'}</td>
+                                                <td>{tx.userName || 'Walk-in'}</td>
                                             </tr>
                                         ))}</tbody>
                                     </table>
                                 </div>
+                                {txCursor && (
+                                    <button className="btn btn-ghost" style={{ marginTop: '1rem' }} onClick={loadMoreTxs}>Load more</button>
+                                )}
                             </motion.div>
                         )}
 
@@ -145,7 +158,7 @@ export default function KabadiDashboard() {
                                                 <div>
                                                     <span className={`chip ${STATUS_COLORS[b.status]}`}>{b.status}</span>
                                                     <p style={{ marginTop: '0.4rem' }}>📍 {b.pickupAddress || 'No address'}</p>
-                                                    <p className="text-muted">{b.user?.name} · {b.materialType}</p>
+                                                    <p className="text-muted">{b.userName} · {b.materialType}</p>
                                                 </div>
                                                 {b.status === 'PENDING' && (
                                                     <div style={{ display: 'flex', gap: '0.5rem' }}>